@@ -0,0 +1,51 @@
+#!/usr/bin/env bash
+# 웹훅 모드 로컬 테스트: 가짜 업데이트를 웹훅 엔드포인트로 POST
+#
+# 사용법:
+#   TELEGRAM_WEBHOOK_SECRET=비밀값 scripts/webhook-test.sh "/price 삼성전자" [chatId] [반복 횟수]
+#
+# 환경 변수:
+#   WEBHOOK_ENDPOINT         기본값 http://localhost:8080/telegram/webhook
+#   TELEGRAM_WEBHOOK_SECRET  telegram.webhook.secret과 같은 값 (틀리면 401)
+#
+# chatId가 실제 채팅이 아니면 봇의 응답 전송은 텔레그램에서 실패하지만 (발신 큐 로그),
+# 명령 처리 경로(CommandRouter)는 그대로 탐
+
+set -euo pipefail
+
+TEXT="${1:-/help}"
+CHAT_ID="${2:-100000001}"
+COUNT="${3:-1}"
+ENDPOINT="${WEBHOOK_ENDPOINT:-http://localhost:8080/telegram/webhook}"
+SECRET="${TELEGRAM_WEBHOOK_SECRET:?TELEGRAM_WEBHOOK_SECRET 필요}"
+
+# JSON 문자열 이스케이프 (역슬래시, 큰따옴표)
+json_escape() {
+  local s="${1//\\/\\\\}"
+  printf '%s' "${s//\"/\\\"}"
+}
+
+ESCAPED_TEXT="$(json_escape "$TEXT")"
+BASE_ID="$(date +%s)"
+
+for ((i = 1; i <= COUNT; i++)); do
+  UPDATE_ID=$((BASE_ID * 1000 + i))
+  BODY=$(cat <<JSON
+{
+  "update_id": ${UPDATE_ID},
+  "message": {
+    "message_id": ${i},
+    "date": ${BASE_ID},
+    "chat": { "id": ${CHAT_ID}, "type": "private" },
+    "from": { "id": ${CHAT_ID}, "is_bot": false, "first_name": "webhook-test" },
+    "text": "${ESCAPED_TEXT}"
+  }
+}
+JSON
+)
+  STATUS=$(curl -s -o /dev/null -w '%{http_code}' -X POST "$ENDPOINT" \
+    -H 'Content-Type: application/json' \
+    -H "X-Telegram-Bot-Api-Secret-Token: ${SECRET}" \
+    --data "$BODY")
+  echo "[$i/$COUNT] update_id=${UPDATE_ID} -> HTTP ${STATUS}"
+done
@@ -0,0 +1,48 @@
+package com.example.Tbot.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 비동기 작업용 스레드 풀 설정
+ */
+@Configuration
+public class AsyncConfig {
+
+    @Value("${stock.async.threads:16}")
+    private int quoteThreads;
+
+    @Value("${stock.async.queue-size:1000}")
+    private int quoteQueueSize;
+
+    /**
+     * 시세 조회 전용 풀 (동시 요청 수는 HTTP 커넥션 풀의 호스트당 제한을 넘지 않게 설정)
+     * 큐가 가득 차면 호출한 스레드에서 직접 실행
+     */
+    @Bean(name = "quoteExecutor", destroyMethod = "shutdown")
+    public ExecutorService quoteExecutor() {
+        return new ThreadPoolExecutor(
+                quoteThreads, quoteThreads,
+                60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(quoteQueueSize),
+                namedThreadFactory("quote-"),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    static ThreadFactory namedThreadFactory(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
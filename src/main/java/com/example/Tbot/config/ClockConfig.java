@@ -0,0 +1,19 @@
+package com.example.Tbot.config;
+
+import com.example.Tbot.service.MarketCalendar;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+
+/**
+ * 현재 시각 (장 시간표 판단용, 테스트에서는 고정 시각 Clock으로 대체)
+ */
+@Configuration
+public class ClockConfig {
+
+    @Bean
+    public Clock marketClock() {
+        return Clock.system(MarketCalendar.KST);
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.Tbot.config;
+
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * 외부 API 호출용 공용 HTTP 클라이언트 설정
+ * 커넥션 풀 + 호스트별 연결 제한 + 타임아웃 + gzip
+ */
+@Configuration
+public class HttpClientConfig {
+
+    @Value("${http.client.max-total:100}")
+    private int maxTotal;
+
+    @Value("${http.client.max-per-route:50}")
+    private int maxPerRoute;
+
+    @Value("${http.client.connect-timeout-ms:2000}")
+    private long connectTimeoutMs;
+
+    @Value("${http.client.read-timeout-ms:5000}")
+    private long readTimeoutMs;
+
+    @Value("${http.client.pool-timeout-ms:1000}")
+    private long poolTimeoutMs;
+
+    @Value("${http.client.idle-evict-seconds:30}")
+    private long idleEvictSeconds;
+
+    /**
+     * 커넥션 풀 (사용 현황은 /test 진단 보고서에서 확인)
+     */
+    @Bean(destroyMethod = "close")
+    public PoolingHttpClientConnectionManager httpConnectionManager() {
+        return PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxTotal)
+                .setMaxConnPerRoute(maxPerRoute)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(connectTimeoutMs))
+                        .setSocketTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+                        .setTimeToLive(TimeValue.ofMinutes(5))
+                        .build())
+                .build();
+    }
+
+    /**
+     * HTTP 클라이언트 (gzip/deflate 응답 압축은 기본 활성화)
+     */
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient httpClient(PoolingHttpClientConnectionManager httpConnectionManager) {
+        return HttpClients.custom()
+                .setConnectionManager(httpConnectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.ofMilliseconds(poolTimeoutMs))
+                        .setResponseTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofSeconds(idleEvictSeconds))
+                .build();
+    }
+
+    @Bean
+    public RestTemplate restTemplate(CloseableHttpClient httpClient) {
+        return new RestTemplate(new HttpComponentsClientHttpRequestFactory(httpClient));
+    }
+}
@@ -0,0 +1,167 @@
+package com.example.Tbot.config;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 주기 작업 스케줄러 (@Scheduled 기본 단일 스레드 대신)
+ * - 작업마다 전용 실행 스레드: 느린 작업이 다른 작업을 밀지 않음
+ * - 타이머 스레드는 실행만 넘기고 바로 돌아옴
+ * - 이전 실행이 안 끝났으면 이번 실행은 건너뜀 (밀린 실행이 몰아서 돌지 않음)
+ * - 작업별 실행 시간/시작 지연/건너뜀 집계
+ */
+@Component
+public class JobScheduler {
+
+    private final ScheduledExecutorService timer =
+            Executors.newSingleThreadScheduledExecutor(AsyncConfig.namedThreadFactory("job-timer-"));
+
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+
+    // 같은 작업의 밀림 경고 최소 간격 (로그 폭주 방지)
+    private final long overrunLogIntervalMs;
+
+    public JobScheduler(@Value("${scheduler.overrun-log-interval-ms:60000}") long overrunLogIntervalMs) {
+        this.overrunLogIntervalMs = overrunLogIntervalMs;
+    }
+
+    private final class Job implements Runnable {
+        final String name;
+        final long periodMs;
+        final Runnable task;
+        final ExecutorService worker;
+        final AtomicBoolean running = new AtomicBoolean();
+
+        // 다음 예정 시각 (타이머 스레드만 씀)
+        long nextFireAt;
+        volatile long scheduledAt;
+        volatile long lastOverrunLogAt;
+
+        final AtomicLong runs = new AtomicLong();
+        final AtomicLong skips = new AtomicLong();
+        final AtomicLong failures = new AtomicLong();
+        final AtomicLong overruns = new AtomicLong();
+        final AtomicLong totalNanos = new AtomicLong();
+        final AtomicLong maxNanos = new AtomicLong();
+        final AtomicLong maxLagMs = new AtomicLong();
+        volatile long lastNanos;
+        volatile long lastLagMs;
+
+        Job(String name, long periodMs, long initialDelayMs, Runnable task) {
+            this.name = name;
+            this.periodMs = periodMs;
+            this.task = task;
+            this.worker = Executors.newSingleThreadExecutor(AsyncConfig.namedThreadFactory("job-" + name + "-"));
+            this.nextFireAt = System.currentTimeMillis() + initialDelayMs;
+        }
+
+        /**
+         * 타이머 스레드: 실행 중이면 건너뛰고, 아니면 전용 스레드로 넘김
+         */
+        @Override
+        public void run() {
+            long fireAt = nextFireAt;
+            nextFireAt += periodMs;
+
+            if (!running.compareAndSet(false, true)) {
+                skips.incrementAndGet();
+                long now = System.currentTimeMillis();
+                if (now - lastOverrunLogAt >= overrunLogIntervalMs) {
+                    lastOverrunLogAt = now;
+                    System.err.println("⚠️ [" + name + "] 이전 실행이 아직 진행 중 - 이번 실행 건너뜀 (누적 " +
+                            skips.get() + "회)");
+                }
+                return;
+            }
+
+            scheduledAt = fireAt;
+            try {
+                worker.execute(this::execute);
+            } catch (RejectedExecutionException e) {
+                running.set(false);
+            }
+        }
+
+        /**
+         * 전용 스레드: 작업 실행 및 시간 집계
+         */
+        private void execute() {
+            long lag = Math.max(0, System.currentTimeMillis() - scheduledAt);
+            long start = System.nanoTime();
+            try {
+                task.run();
+            } catch (Exception e) {
+                failures.incrementAndGet();
+                System.err.println("❌ [" + name + "] 주기 작업 오류: " + e.getMessage());
+            } finally {
+                long elapsed = System.nanoTime() - start;
+                runs.incrementAndGet();
+                totalNanos.addAndGet(elapsed);
+                maxNanos.accumulateAndGet(elapsed, Math::max);
+                maxLagMs.accumulateAndGet(lag, Math::max);
+                lastNanos = elapsed;
+                lastLagMs = lag;
+                if (TimeUnit.NANOSECONDS.toMillis(elapsed) > periodMs) {
+                    overruns.incrementAndGet();
+                }
+                running.set(false);
+            }
+        }
+
+        String describe() {
+            long count = runs.get();
+            return String.format(
+                    "• %s (%,dms마다): 실행 %,d | 건너뜀 %,d | 초과 %,d | 실패 %,d\n" +
+                            "   └ 실행 시간 최근 %.1fms, 평균 %.1fms, 최대 %.1fms | 시작 지연 최근 %dms, 최대 %dms",
+                    name, periodMs, count, skips.get(), overruns.get(), failures.get(),
+                    lastNanos / 1e6, count == 0 ? 0 : totalNanos.get() / 1e6 / count, maxNanos.get() / 1e6,
+                    lastLagMs, maxLagMs.get());
+        }
+    }
+
+    /**
+     * 주기 작업 등록 (periodMs마다 실행, 이전 실행이 안 끝났으면 건너뜀)
+     */
+    public void schedule(String name, long periodMs, long initialDelayMs, Runnable task) {
+        Job job = new Job(name, periodMs, initialDelayMs, task);
+        if (jobs.putIfAbsent(name, job) != null) {
+            job.worker.shutdown();
+            throw new IllegalStateException("이미 등록된 작업: " + name);
+        }
+        timer.scheduleAtFixedRate(job, initialDelayMs, periodMs, TimeUnit.MILLISECONDS);
+        System.out.println("⏱️ 주기 작업 등록: " + name + " (" + periodMs + "ms마다)");
+    }
+
+    /**
+     * 작업별 실행 통계 (진단용)
+     */
+    public String getStats() {
+        if (jobs.isEmpty()) {
+            return "   └ 등록된 작업 없음";
+        }
+        StringBuilder sb = new StringBuilder();
+        jobs.values().stream()
+                .sorted((a, b) -> a.name.compareTo(b.name))
+                .forEach(job -> sb.append(sb.length() > 0 ? "\n" : "").append(job.describe()));
+        return sb.toString();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        timer.shutdownNow();
+        for (Job job : jobs.values()) {
+            job.worker.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.example.Tbot.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * 종목별 조회 간격 계획
+ * 최근 가격 변동성(로그 수익률 분산의 지수 이동 평균)과 구독자 수로 간격을 정함
+ * - 기대 변동폭이 목표치(targetMove)에 닿을 만큼만 기다림: 간격 = (targetMove / 초당 표준편차)^2
+ * - 구독자가 많을수록 짧게, 최소/최대 간격 사이로 제한
+ * - 전체 초당 요청 수가 예산을 넘으면 모든 간격을 같은 비율로 늘림
+ */
+final class AdaptivePollPlanner {
+
+    // 변동성 지수 이동 평균 가중치 (새 관측값 비중)
+    private static final double EWMA_ALPHA = 0.2;
+
+    private final long minIntervalMs;
+    private final long maxIntervalMs;
+    private final long defaultIntervalMs;
+    private final double targetMove;
+    private final double budgetPerSecond;
+    private final int batchSize;
+
+    private static final class SymbolState {
+        double lastPrice = Double.NaN;
+        long lastObservedAt;
+        double variancePerSecond = Double.NaN;  // 초당 로그 수익률 분산
+        long intervalMs;
+        long lastPolledAt;  // 마지막으로 조회 대상에 넣은 시각 (간격이 바뀌면 바로 반영)
+    }
+
+    private final Map<Integer, SymbolState> states = new HashMap<>();
+
+    /**
+     * @param targetMovePercent 한 번 조회할 때 기대하는 가격 변동폭 (%)
+     * @param budgetPerSecond   초당 최대 요청 수 (일괄 조회 한 번 = 요청 1)
+     * @param batchSize         일괄 조회 한 번에 담는 종목 수
+     */
+    AdaptivePollPlanner(long minIntervalMs, long maxIntervalMs, long defaultIntervalMs,
+                        double targetMovePercent, double budgetPerSecond, int batchSize) {
+        this.minIntervalMs = minIntervalMs;
+        this.maxIntervalMs = Math.max(minIntervalMs, maxIntervalMs);
+        this.defaultIntervalMs = Math.max(minIntervalMs, Math.min(this.maxIntervalMs, defaultIntervalMs));
+        this.targetMove = targetMovePercent / 100;
+        this.budgetPerSecond = budgetPerSecond;
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    /**
+     * 지금 조회할 종목 고르기
+     * symbols에 없는 종목 상태는 버리고, 새 종목은 바로 조회 대상
+     */
+    synchronized List<Integer> due(Collection<Integer> symbols, IntUnaryOperator subscriberCount, long now) {
+        Set<Integer> watched = new HashSet<>(symbols);
+        states.keySet().retainAll(watched);
+        for (Integer symbolId : watched) {
+            states.computeIfAbsent(symbolId, id -> new SymbolState());
+        }
+
+        replan(subscriberCount);
+
+        List<Integer> due = new ArrayList<>();
+        states.forEach((symbolId, state) -> {
+            if (state.lastPolledAt + state.intervalMs <= now) {
+                due.add(symbolId);
+                state.lastPolledAt = now;
+            }
+        });
+        return due;
+    }
+
+    /**
+     * 조회한 가격 반영 (변동성 갱신)
+     */
+    synchronized void observe(int symbolId, double price, long now) {
+        SymbolState state = states.get(symbolId);
+        if (state == null || price <= 0) return;
+
+        if (!Double.isNaN(state.lastPrice) && now > state.lastObservedAt) {
+            double seconds = (now - state.lastObservedAt) / 1000.0;
+            double logReturn = Math.log(price / state.lastPrice);
+            double sample = logReturn * logReturn / seconds;
+            state.variancePerSecond = Double.isNaN(state.variancePerSecond)
+                    ? sample
+                    : EWMA_ALPHA * sample + (1 - EWMA_ALPHA) * state.variancePerSecond;
+        }
+        state.lastPrice = price;
+        state.lastObservedAt = now;
+    }
+
+    /**
+     * 현재 조회 간격 (추적하지 않는 종목은 -1)
+     */
+    synchronized long intervalOf(int symbolId) {
+        SymbolState state = states.get(symbolId);
+        return state == null ? -1 : state.intervalMs;
+    }
+
+    /**
+     * 간격 다시 계산 (변동성/구독자 수 -> 개별 간격 -> 예산 맞추기)
+     */
+    private void replan(IntUnaryOperator subscriberCount) {
+        double symbolsPerSecond = 0;
+        for (Map.Entry<Integer, SymbolState> entry : states.entrySet()) {
+            SymbolState state = entry.getValue();
+            state.intervalMs = baseInterval(state, subscriberCount.applyAsInt(entry.getKey()));
+            symbolsPerSecond += 1000.0 / state.intervalMs;
+        }
+
+        double requestsPerSecond = symbolsPerSecond / batchSize;
+        if (budgetPerSecond > 0 && requestsPerSecond > budgetPerSecond) {
+            double stretch = requestsPerSecond / budgetPerSecond;
+            for (SymbolState state : states.values()) {
+                state.intervalMs = (long) Math.ceil(state.intervalMs * stretch);
+            }
+        }
+    }
+
+    private long baseInterval(SymbolState state, int subscribers) {
+        double interval;
+        if (Double.isNaN(state.variancePerSecond)) {
+            interval = defaultIntervalMs;
+        } else if (state.variancePerSecond == 0) {
+            interval = maxIntervalMs;
+        } else {
+            interval = targetMove * targetMove / state.variancePerSecond * 1000;
+        }
+
+        // 구독자 수의 로그에 비례해 짧게 (1명 1배, 2명 1/1.5, 4명 1/2, 16명 1/3)
+        interval /= 1 + 0.5 * (Math.log(Math.max(1, subscribers)) / Math.log(2));
+
+        return Math.max(minIntervalMs, Math.min(maxIntervalMs, (long) interval));
+    }
+
+    synchronized int size() {
+        return states.size();
+    }
+}
@@ -0,0 +1,296 @@
+package com.example.Tbot.service;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 조건 알림 규칙 저장소
+ * 종목마다 지표(가격/등락률/거래량)별 발동 기준값을 정렬해 두고,
+ * 새 시세가 오면 넘어선 구간만 잘라서 꺼냄 (규칙 전체를 훑지 않음, O(log n + k))
+ * 채팅별 규칙 수는 maxRulesPerChat까지, 채팅별 목록/삭제는 채팅 인덱스로 (다른 채팅 규칙을 훑지 않음)
+ */
+final class AlertRuleBook {
+
+    enum Metric { PRICE, CHANGE_RATE, VOLUME }
+
+    /**
+     * 규칙 하나 (불변)
+     * above = true 이면 값이 기준 이상일 때, false 이면 기준 이하일 때 발동
+     * rearmPercent > 0 이면 발동 후 반대 방향으로 그만큼 되돌아왔을 때 다시 켜짐
+     */
+    static final class Rule {
+        final int id;
+        final long chatId;
+        final String code;
+        final String stockName;
+        final Metric metric;
+        final boolean above;
+        final double level;
+        final double rearmPercent;
+
+        Rule(int id, long chatId, String code, String stockName,
+             Metric metric, boolean above, double level, double rearmPercent) {
+            this.id = id;
+            this.chatId = chatId;
+            this.code = code;
+            this.stockName = stockName;
+            this.metric = metric;
+            this.above = above;
+            this.level = level;
+            this.rearmPercent = rearmPercent;
+        }
+
+        /**
+         * 다시 켜지는 기준값 (등락률은 %p, 가격/거래량은 기준값의 %)
+         */
+        double rearmLevel() {
+            double gap = metric == Metric.CHANGE_RATE ? rearmPercent : Math.abs(level) * rearmPercent / 100;
+            return above ? level - gap : level + gap;
+        }
+
+        boolean rearms() {
+            return rearmPercent > 0;
+        }
+
+        /**
+         * 조건 설명 (예: "현재가 ≥ 75,000원")
+         */
+        String describe() {
+            String sign = above ? " ≥ " : " ≤ ";
+            return switch (metric) {
+                case PRICE -> "현재가" + sign + String.format("%,.0f원", level);
+                case CHANGE_RATE -> "등락률" + sign + String.format("%+.2f%%", level);
+                case VOLUME -> "거래량" + sign + String.format("%,.0f주", level);
+            };
+        }
+    }
+
+    /**
+     * 지표 하나의 기준값 인덱스
+     */
+    private static final class LevelIndex {
+        // 켜진 규칙 (기준값 -> 규칙)
+        private final TreeMap<Double, List<Rule>> armedAbove = new TreeMap<>();
+        private final TreeMap<Double, List<Rule>> armedBelow = new TreeMap<>();
+
+        // 발동 후 다시 켜지기를 기다리는 규칙 (재무장 기준값 -> 규칙)
+        // 이상 규칙은 값이 내려와야, 이하 규칙은 값이 올라가야 다시 켜짐
+        private final TreeMap<Double, List<Rule>> rearmBelow = new TreeMap<>();
+        private final TreeMap<Double, List<Rule>> rearmAbove = new TreeMap<>();
+
+        void arm(Rule rule) {
+            put(rule.above ? armedAbove : armedBelow, rule.level, rule);
+        }
+
+        void evaluate(double value, List<Rule> fired) {
+            // 되돌아온 규칙 다시 켜기
+            for (Rule rule : drain(rearmBelow.tailMap(value, true))) arm(rule);
+            for (Rule rule : drain(rearmAbove.headMap(value, true))) arm(rule);
+
+            // 기준을 넘어선 규칙 꺼내기 (자동 해제)
+            List<Rule> crossed = drain(armedAbove.headMap(value, true));
+            crossed.addAll(drain(armedBelow.tailMap(value, true)));
+
+            for (Rule rule : crossed) {
+                if (rule.rearms()) {
+                    put(rule.above ? rearmBelow : rearmAbove, rule.rearmLevel(), rule);
+                }
+            }
+            fired.addAll(crossed);
+        }
+
+        boolean remove(Rule rule) {
+            boolean removed = take(rule.above ? armedAbove : armedBelow, rule.level, rule);
+            if (!removed && rule.rearms()) {
+                removed = take(rule.above ? rearmBelow : rearmAbove, rule.rearmLevel(), rule);
+            }
+            return removed;
+        }
+
+        boolean isEmpty() {
+            return armedAbove.isEmpty() && armedBelow.isEmpty() && rearmBelow.isEmpty() && rearmAbove.isEmpty();
+        }
+
+        private static void put(TreeMap<Double, List<Rule>> map, double key, Rule rule) {
+            map.computeIfAbsent(key, k -> new ArrayList<>(1)).add(rule);
+        }
+
+        private static boolean take(TreeMap<Double, List<Rule>> map, double key, Rule rule) {
+            List<Rule> rules = map.get(key);
+            if (rules == null || !rules.remove(rule)) return false;
+            if (rules.isEmpty()) map.remove(key);
+            return true;
+        }
+
+        private static List<Rule> drain(NavigableMap<Double, List<Rule>> range) {
+            List<Rule> rules = new ArrayList<>();
+            if (range.isEmpty()) return rules;
+            range.values().forEach(rules::addAll);
+            range.clear();
+            return rules;
+        }
+    }
+
+    /**
+     * 종목 하나의 규칙 (지표별 인덱스)
+     */
+    private static final class SymbolRules {
+        private final Map<Metric, LevelIndex> indexes = new EnumMap<>(Metric.class);
+
+        synchronized void arm(Rule rule) {
+            indexes.computeIfAbsent(rule.metric, m -> new LevelIndex()).arm(rule);
+        }
+
+        synchronized boolean remove(Rule rule) {
+            LevelIndex index = indexes.get(rule.metric);
+            return index != null && index.remove(rule);
+        }
+
+        synchronized List<Rule> evaluate(Quote quote) {
+            List<Rule> fired = new ArrayList<>();
+            indexes.forEach((metric, index) -> index.evaluate(valueOf(metric, quote), fired));
+            return fired;
+        }
+
+        synchronized boolean isEmpty() {
+            return indexes.values().stream().allMatch(LevelIndex::isEmpty);
+        }
+    }
+
+    static double valueOf(Metric metric, Quote quote) {
+        return switch (metric) {
+            case PRICE -> quote.getPrice();
+            case CHANGE_RATE -> quote.getChangeRate();
+            case VOLUME -> quote.getVolume();
+        };
+    }
+
+    private final Map<String, SymbolRules> bySymbol = new ConcurrentHashMap<>();
+    private final Map<Integer, Rule> rules = new ConcurrentHashMap<>();
+    private final AtomicInteger nextId = new AtomicInteger(1);
+
+    // 채팅별 규칙 (규칙 번호 순)
+    private final Map<Long, ConcurrentSkipListMap<Integer, Rule>> byChat = new ConcurrentHashMap<>();
+
+    private final int maxRulesPerChat;
+
+    AlertRuleBook(int maxRulesPerChat) {
+        this.maxRulesPerChat = maxRulesPerChat;
+    }
+
+    /**
+     * 규칙 추가 (채팅의 규칙이 이미 최대 개수면 null)
+     */
+    synchronized Rule add(long chatId, String code, String stockName, Metric metric,
+                          boolean above, double level, double rearmPercent) {
+        Map<Integer, Rule> owned = byChat.get(chatId);
+        if (owned != null && owned.size() >= maxRulesPerChat) {
+            return null;
+        }
+
+        Rule rule = new Rule(nextId.getAndIncrement(), chatId, code, stockName, metric, above, level, rearmPercent);
+        rules.put(rule.id, rule);
+        byChat.compute(chatId, (id, chatRules) -> {
+            ConcurrentSkipListMap<Integer, Rule> target = chatRules != null ? chatRules : new ConcurrentSkipListMap<>();
+            target.put(rule.id, rule);
+            return target;
+        });
+        bySymbol.compute(code, (c, symbolRules) -> {
+            SymbolRules target = symbolRules != null ? symbolRules : new SymbolRules();
+            target.arm(rule);
+            return target;
+        });
+        return rule;
+    }
+
+    /**
+     * 사용자 규칙 삭제 (다른 사용자의 규칙 번호면 무시)
+     */
+    synchronized Rule remove(long chatId, int ruleId) {
+        Rule rule = rules.get(ruleId);
+        if (rule == null || rule.chatId != chatId) {
+            return null;
+        }
+        forget(rule);
+        detach(rule);
+        return rule;
+    }
+
+    /**
+     * 사용자 규칙 전체 삭제
+     */
+    synchronized int removeAll(long chatId) {
+        List<Rule> owned = rulesOf(chatId);
+        owned.forEach(rule -> {
+            forget(rule);
+            detach(rule);
+        });
+        return owned.size();
+    }
+
+    /**
+     * 규칙 번호/채팅 인덱스에서 빼기
+     */
+    private void forget(Rule rule) {
+        rules.remove(rule.id);
+        byChat.computeIfPresent(rule.chatId, (id, chatRules) -> {
+            chatRules.remove(rule.id);
+            return chatRules.isEmpty() ? null : chatRules;
+        });
+    }
+
+    private void detach(Rule rule) {
+        bySymbol.computeIfPresent(rule.code, (c, symbolRules) -> {
+            symbolRules.remove(rule);
+            return symbolRules.isEmpty() ? null : symbolRules;
+        });
+    }
+
+    /**
+     * 새 시세로 규칙 판단, 발동한 규칙 반환 (재무장 없는 규칙은 삭제됨)
+     */
+    List<Rule> evaluate(Quote quote) {
+        SymbolRules symbolRules = bySymbol.get(quote.getCode());
+        if (symbolRules == null) {
+            return List.of();
+        }
+
+        List<Rule> fired = symbolRules.evaluate(quote);
+        for (Rule rule : fired) {
+            if (!rule.rearms()) {
+                forget(rule);
+            }
+        }
+        if (!fired.isEmpty()) {
+            bySymbol.computeIfPresent(quote.getCode(), (c, s) -> s.isEmpty() ? null : s);
+        }
+        return fired;
+    }
+
+    /**
+     * 규칙이 걸린 종목 코드
+     */
+    Set<String> codes() {
+        return bySymbol.keySet();
+    }
+
+    /**
+     * 채팅의 규칙 (번호 순)
+     */
+    List<Rule> rulesOf(long chatId) {
+        Map<Integer, Rule> owned = byChat.get(chatId);
+        return owned == null ? List.of() : List.copyOf(owned.values());
+    }
+
+    int size() {
+        return rules.size();
+    }
+}
@@ -0,0 +1,253 @@
+package com.example.Tbot.service;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ObjLongConsumer;
+
+/**
+ * 채팅별 종목 구독 목록 (양방향, 압축 저장)
+ * chatId -> 종목 번호 집합: long 키 오픈 어드레싱 + 정렬된 int[] (박싱 없음)
+ * 종목 번호 -> chatId 집합: 정렬된 long[] (쓰기 때 새 배열로 교체하므로 읽기는 잠금 없이 스냅샷)
+ * 종목 번호는 SymbolTable.parseCode 값
+ */
+final class ChatSymbolIndex {
+
+    private static final int[] NO_SYMBOLS = new int[0];
+    private static final long[] NO_CHATS = new long[0];
+
+    // 빈 칸 표시 (텔레그램 chatId로 나올 수 없는 값)
+    private static final long EMPTY = Long.MIN_VALUE;
+
+    private long[] chatKeys;
+    private int[][] chatSymbols;
+    private int chatCount;
+    private int subscriptionCount;
+
+    private final Map<Integer, long[]> chatsBySymbol = new ConcurrentHashMap<>();
+
+    ChatSymbolIndex() {
+        this.chatKeys = newKeys(16);
+        this.chatSymbols = new int[16][];
+    }
+
+    /**
+     * 구독 추가 (이미 있으면 false)
+     */
+    synchronized boolean add(long chatId, int symbolId) {
+        int slot = find(chatId);
+        int[] symbols = slot >= 0 ? chatSymbols[slot] : NO_SYMBOLS;
+        int at = Arrays.binarySearch(symbols, symbolId);
+        if (at >= 0) {
+            return false;
+        }
+
+        int[] grown = insert(symbols, -at - 1, symbolId);
+        if (slot >= 0) {
+            chatSymbols[slot] = grown;
+        } else {
+            put(chatId, grown);
+        }
+        chatsBySymbol.compute(symbolId, (id, chats) -> insertChat(chats == null ? NO_CHATS : chats, chatId));
+        subscriptionCount++;
+        return true;
+    }
+
+    /**
+     * 구독 중인지
+     */
+    synchronized boolean contains(long chatId, int symbolId) {
+        int slot = find(chatId);
+        return slot >= 0 && Arrays.binarySearch(chatSymbols[slot], symbolId) >= 0;
+    }
+
+    /**
+     * 구독 하나 삭제 (없으면 false)
+     */
+    synchronized boolean remove(long chatId, int symbolId) {
+        int slot = find(chatId);
+        if (slot < 0) return false;
+
+        int[] symbols = chatSymbols[slot];
+        int at = Arrays.binarySearch(symbols, symbolId);
+        if (at < 0) return false;
+
+        if (symbols.length == 1) {
+            delete(slot);
+        } else {
+            chatSymbols[slot] = removeAt(symbols, at);
+        }
+        chatsBySymbol.computeIfPresent(symbolId, (id, chats) -> removeChat(chats, chatId));
+        subscriptionCount--;
+        return true;
+    }
+
+    /**
+     * 채팅의 구독 전체 삭제, 삭제한 종목 번호 반환
+     */
+    synchronized int[] removeAll(long chatId) {
+        int slot = find(chatId);
+        if (slot < 0) return NO_SYMBOLS;
+
+        int[] symbols = chatSymbols[slot];
+        delete(slot);
+        for (int symbolId : symbols) {
+            chatsBySymbol.computeIfPresent(symbolId, (id, chats) -> removeChat(chats, chatId));
+        }
+        subscriptionCount -= symbols.length;
+        return symbols;
+    }
+
+    /**
+     * 채팅의 구독 종목 번호 (정렬, 읽기 전용)
+     */
+    synchronized int[] symbolsOf(long chatId) {
+        int slot = find(chatId);
+        return slot >= 0 ? chatSymbols[slot] : NO_SYMBOLS;
+    }
+
+    /**
+     * 종목 구독자 (정렬, 읽기 전용 스냅샷)
+     */
+    long[] chatsOf(int symbolId) {
+        return chatsBySymbol.getOrDefault(symbolId, NO_CHATS);
+    }
+
+    /**
+     * 구독자가 있는 종목 번호
+     */
+    Set<Integer> symbols() {
+        return chatsBySymbol.keySet();
+    }
+
+    synchronized int chatCount() {
+        return chatCount;
+    }
+
+    synchronized int subscriptionCount() {
+        return subscriptionCount;
+    }
+
+    synchronized boolean isEmpty() {
+        return chatCount == 0;
+    }
+
+    /**
+     * 채팅별 구독 목록 순회 (디버깅용)
+     */
+    synchronized void forEach(ObjLongConsumer<int[]> action) {
+        for (int slot = 0; slot < chatKeys.length; slot++) {
+            if (chatKeys[slot] != EMPTY) {
+                action.accept(chatSymbols[slot], chatKeys[slot]);
+            }
+        }
+    }
+
+    // ---- chatId 오픈 어드레싱 (선형 탐사, 삭제 시 뒤 칸 당겨오기) ----
+
+    private static long[] newKeys(int capacity) {
+        long[] keys = new long[capacity];
+        Arrays.fill(keys, EMPTY);
+        return keys;
+    }
+
+    private int slotOf(long chatId, int capacity) {
+        long h = chatId * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & (capacity - 1);
+    }
+
+    private int find(long chatId) {
+        int mask = chatKeys.length - 1;
+        for (int slot = slotOf(chatId, chatKeys.length); chatKeys[slot] != EMPTY; slot = (slot + 1) & mask) {
+            if (chatKeys[slot] == chatId) return slot;
+        }
+        return -1;
+    }
+
+    private void put(long chatId, int[] symbols) {
+        if ((chatCount + 1) * 4 > chatKeys.length * 3) {
+            resize(chatKeys.length * 2);
+        }
+        int mask = chatKeys.length - 1;
+        int slot = slotOf(chatId, chatKeys.length);
+        while (chatKeys[slot] != EMPTY) {
+            slot = (slot + 1) & mask;
+        }
+        chatKeys[slot] = chatId;
+        chatSymbols[slot] = symbols;
+        chatCount++;
+    }
+
+    private void delete(int slot) {
+        int mask = chatKeys.length - 1;
+        chatKeys[slot] = EMPTY;
+        chatSymbols[slot] = null;
+        chatCount--;
+
+        // 뒤따르는 같은 군집의 키를 빈 칸으로 당겨서 탐사가 끊기지 않게 함
+        int next = (slot + 1) & mask;
+        while (chatKeys[next] != EMPTY) {
+            int home = slotOf(chatKeys[next], chatKeys.length);
+            if (((next - home) & mask) >= ((next - slot) & mask)) {
+                chatKeys[slot] = chatKeys[next];
+                chatSymbols[slot] = chatSymbols[next];
+                chatKeys[next] = EMPTY;
+                chatSymbols[next] = null;
+                slot = next;
+            }
+            next = (next + 1) & mask;
+        }
+    }
+
+    private void resize(int capacity) {
+        long[] oldKeys = chatKeys;
+        int[][] oldSymbols = chatSymbols;
+        chatKeys = newKeys(capacity);
+        chatSymbols = new int[capacity][];
+        chatCount = 0;
+        for (int slot = 0; slot < oldKeys.length; slot++) {
+            if (oldKeys[slot] != EMPTY) {
+                put(oldKeys[slot], oldSymbols[slot]);
+            }
+        }
+    }
+
+    // ---- 정렬 배열 (복사 후 교체) ----
+
+    private static int[] insert(int[] array, int at, int value) {
+        int[] grown = new int[array.length + 1];
+        System.arraycopy(array, 0, grown, 0, at);
+        grown[at] = value;
+        System.arraycopy(array, at, grown, at + 1, array.length - at);
+        return grown;
+    }
+
+    private static int[] removeAt(int[] array, int at) {
+        int[] shrunk = new int[array.length - 1];
+        System.arraycopy(array, 0, shrunk, 0, at);
+        System.arraycopy(array, at + 1, shrunk, at, array.length - at - 1);
+        return shrunk;
+    }
+
+    private static long[] insertChat(long[] chats, long chatId) {
+        int at = Arrays.binarySearch(chats, chatId);
+        if (at >= 0) return chats;
+        at = -at - 1;
+        long[] grown = new long[chats.length + 1];
+        System.arraycopy(chats, 0, grown, 0, at);
+        grown[at] = chatId;
+        System.arraycopy(chats, at, grown, at + 1, chats.length - at);
+        return grown;
+    }
+
+    private static long[] removeChat(long[] chats, long chatId) {
+        int at = Arrays.binarySearch(chats, chatId);
+        if (at < 0) return chats;
+        if (chats.length == 1) return null;
+        long[] shrunk = new long[chats.length - 1];
+        System.arraycopy(chats, 0, shrunk, 0, at);
+        System.arraycopy(chats, at + 1, shrunk, at, chats.length - at - 1);
+        return shrunk;
+    }
+}
@@ -2,79 +2,296 @@ package com.example.Tbot.service;
 
 import com.example.Tbot.telegram.TbotTelegram;
 import org.springframework.context.annotation.Lazy;
-import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
-import java.text.SimpleDateFormat;
-import java.util.Date;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * 연속 모니터링 서비스 (포트폴리오 정보 포함)
- * 10초마다 주식 정보를 크롤링하여 텔레그램으로 전송
+ * MarketDataPoller가 발행한 시세 틱(종목별 변동성에 맞춘 간격)을 받아 텔레그램으로 전송
+ * 채팅마다 여러 종목을 모니터링할 수 있고, 종목들을 한 메시지로 묶어 보냄
+ * (이번에 조회한 종목이 있는 채팅만, 채팅당 최소 전송 간격 유지)
+ * 라이브 모드 채팅은 메시지 하나를 보내 두고 editMessageText로 고침 (내용이 그대로면 건너뜀)
  */
 @Service
 public class ContinuousMonitoringService {
 
     private final StockService stockService;
     private final TbotTelegram telegram;
-    private final SimpleDateFormat dateFormat = new SimpleDateFormat("HH:mm:ss");
+    private final MarketCalendar marketCalendar;
 
-    // 연속 모니터링 중인 사용자 (chatId -> stockName)
-    private final Map<Long, String> monitoring = new ConcurrentHashMap<>();
+    private final MarketDataPoller poller;
+    private final PortfolioService portfolioService;
+
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("HH:mm:ss");  // 여러 스레드에서 사용 (불변)
+
+    // 채팅당 최대 모니터링 종목 수 (대시보드는 한 줄씩이라 더 많이)
+    private static final int MAX_SYMBOLS_PER_CHAT = 10;
+    private static final int MAX_DASHBOARD_SYMBOLS = 30;
+
+    // 채팅당 최소 전송 간격 (변동이 큰 종목이 있어도 메시지가 몰리지 않게)
+    private static final long MIN_SEND_INTERVAL_MS = 5000;
+
+    // 연속 모니터링 중인 종목 (chatId <-> 종목 번호)
+    private final ChatSymbolIndex monitoring = new ChatSymbolIndex();
 
     // 모니터링 카운터 (몇 번 업데이트되었는지)
     private final Map<Long, Integer> updateCounts = new ConcurrentHashMap<>();
 
-    public ContinuousMonitoringService(StockService stockService, @Lazy TbotTelegram telegram) {
+    // 채팅별 마지막 전송 시각
+    private final Map<Long, Long> lastSentAt = new ConcurrentHashMap<>();
+
+    // 종목별 마지막 시세 (이번에 조회하지 않은 종목은 이 값으로 표시)
+    private final Map<Integer, Quote> lastQuotes = new ConcurrentHashMap<>();
+
+    // 라이브 모드 채팅의 고치는 메시지 (시세 버스 구독 스레드만 갱신)
+    private static final class LiveMessage {
+        volatile Integer messageId;  // 아직 안 보냈으면 null
+        volatile String body;        // 마지막으로 보낸 종목 정보 (헤더 제외)
+        volatile boolean dashboard;  // 종목당 한 줄 표로 표시
+        boolean inFlight;            // 보내거나 고치는 중 (발신 큐 결과 대기, live 잠금으로 보호)
+    }
+
+    private final Map<Long, LiveMessage> liveMessages = new ConcurrentHashMap<>();
+
+    public ContinuousMonitoringService(StockService stockService, @Lazy TbotTelegram telegram,
+                                       MarketCalendar marketCalendar, MarketDataPoller poller, QuoteTickBus tickBus,
+                                       PortfolioService portfolioService) {
         this.stockService = stockService;
         this.telegram = telegram;
+        this.marketCalendar = marketCalendar;
+        this.poller = poller;
+        this.portfolioService = portfolioService;
+
+        poller.addWatcher("monitor", monitoring::symbols, symbolId -> monitoring.chatsOf(symbolId).length);
+        tickBus.subscribe("monitor", this::onTicks);
     }
 
     /**
-     * 연속 모니터링 시작
+     * 연속 모니터링 시작 (종목 추가)
      */
     public String startMonitoring(Long chatId, String stockName) {
-        monitoring.put(chatId, stockName);
-        updateCounts.put(chatId, 0);
+        return startMonitoring(chatId, stockName, false);
+    }
+
+    /**
+     * 라이브 모니터링 시작 (종목 추가, 채팅을 라이브 모드로 전환)
+     */
+    public String startLive(Long chatId, String stockName) {
+        return startMonitoring(chatId, stockName, true);
+    }
+
+    /**
+     * 라이브 모드 끄기 (모니터링은 계속, 다시 새 메시지로 전송)
+     */
+    public String stopLive(Long chatId) {
+        if (liveMessages.remove(chatId) == null) {
+            return "❌ 라이브 모드가 아닙니다.";
+        }
+        return "⏹️ 라이브 모드를 껐습니다. 이제 업데이트를 새 메시지로 보냅니다.";
+    }
+
+    /**
+     * 대시보드 시작 (종목 목록 또는 포트폴리오 전체를 표 하나로, 메시지 하나를 계속 고침)
+     * 종목 시세를 한 번에 비동기로 조회해 도착하면 표를 보내고, 이후엔 시세 틱마다 바뀐 경우만 수정
+     * @param args 종목명 목록 (쉼표 또는 공백 구분), 비어 있으면 포트폴리오 종목
+     */
+    public CompletableFuture<String> startDashboard(Long chatId, String args) {
+        List<String> names = args.isBlank()
+                ? portfolioService.getStockNames(chatId)
+                : Arrays.asList(args.trim().split(args.contains(",") ? "\\s*,\\s*" : "\\s+"));
+        if (names.isEmpty()) {
+            return CompletableFuture.completedFuture("❌ 포트폴리오가 비어 있습니다.\n\n" +
+                    "💡 종목을 직접 지정하기:\n/dashboard 삼성전자 카카오 네이버");
+        }
+
+        List<String> unknown = new ArrayList<>();
+        Set<String> codes = new LinkedHashSet<>();
+        for (String name : names) {
+            StockService.StockInfo stockInfo = stockService.resolveStock(name);
+            if (stockInfo == null) {
+                unknown.add(name);
+            } else {
+                codes.add(stockInfo.code);
+            }
+        }
+        if (codes.isEmpty()) {
+            return CompletableFuture.completedFuture("❌ 찾을 수 있는 종목이 없습니다: " + String.join(", ", unknown));
+        }
+        // 이미 모니터링 중인 종목은 다시 세지 않음 (같은 목록으로 다시 실행해도 통과)
+        long newCodes = codes.stream()
+                .filter(code -> !monitoring.contains(chatId, SymbolTable.parseCode(code)))
+                .count();
+        if (monitoring.symbolsOf(chatId).length + newCodes > MAX_DASHBOARD_SYMBOLS) {
+            return CompletableFuture.completedFuture(
+                    "❌ 대시보드는 최대 " + MAX_DASHBOARD_SYMBOLS + "개 종목까지 가능합니다.\n\n" +
+                    "💡 종목 빼기: /unmonitor <종목명>");
+        }
+
+        for (String code : codes) {
+            monitoring.add(chatId, SymbolTable.parseCode(code));
+        }
+        updateCounts.putIfAbsent(chatId, 0);
+
+        // 전체 종목 시세를 한 번에 조회해서 도착하면 바로 표 전송
+        return stockService.getQuotesAsync(codes).thenApply(quotes -> {
+            // 조회하는 사이 /stop 했으면 표를 만들지 않음
+            if (monitoring.symbolsOf(chatId).length == 0) {
+                return "⏹️ 대시보드를 시작하기 전에 모니터링이 중지되었습니다.";
+            }
+            quotes.forEach((code, quote) -> lastQuotes.put(SymbolTable.parseCode(code), quote));
+            LiveMessage live = liveMessages.computeIfAbsent(chatId, id -> new LiveMessage());
+            live.dashboard = true;
+            live.body = null;
+            lastSentAt.put(chatId, System.currentTimeMillis());
+            updateLive(chatId, live, LocalTime.now(MarketCalendar.KST).format(TIME_FORMAT));
 
-        return "🔄 '" + stockName + "' 연속 모니터링을 시작합니다.\n" +
-                "10초마다 최신 정보를 전송합니다.\n" +
+            return "📋 대시보드를 시작했습니다. (총 " + monitoring.symbolsOf(chatId).length + "개 종목)\n" +
+                    "위 표 메시지 하나를 가격이 바뀔 때마다 고칩니다." +
+                    (unknown.isEmpty() ? "" : "\n⚠️ 찾을 수 없는 종목: " + String.join(", ", unknown)) +
+                    "\n\n중지하려면 /stop 입력";
+        });
+    }
+
+    private String startMonitoring(Long chatId, String stockName, boolean live) {
+        StockService.StockInfo stockInfo = stockService.resolveStock(stockName);
+        if (stockInfo == null) {
+            return "❌ '" + stockName + "' 종목을 찾을 수 없습니다.\n\n" +
+                    "💡 종목 검색하기:\n/search " + stockName;
+        }
+        // 이미 모니터링 중인 종목은 최대 개수에 걸리지 않음 (이미 중 안내 또는 라이브 전환)
+        int symbolId = SymbolTable.parseCode(stockInfo.code);
+        if (!monitoring.contains(chatId, symbolId) && monitoring.symbolsOf(chatId).length >= MAX_SYMBOLS_PER_CHAT) {
+            return "❌ 모니터링은 최대 " + MAX_SYMBOLS_PER_CHAT + "개 종목까지 가능합니다.\n\n" +
+                    "💡 종목 빼기: /unmonitor <종목명>";
+        }
+        boolean added = monitoring.add(chatId, symbolId);
+        if (live) {
+            LiveMessage message = liveMessages.computeIfAbsent(chatId, id -> new LiveMessage());
+            message.dashboard = false;
+            message.body = null;  // 새 구성으로 바로 갱신
+        }
+        if (!added && !live) {
+            return "📌 '" + stockInfo.name + "'은(는) 이미 모니터링 중입니다.";
+        }
+        updateCounts.putIfAbsent(chatId, 0);
+
+        if (live) {
+            return "📺 '" + stockInfo.name + "' 라이브 모니터링 (총 " +
+                    monitoring.symbolsOf(chatId).length + "개 종목)\n" +
+                    "메시지 하나를 보내고, 가격이 바뀔 때만 그 메시지를 고칩니다.\n\n" +
+                    "일반 모드로: /live off\n중지하려면 /stop 입력";
+        }
+        return "🔄 '" + stockInfo.name + "' 연속 모니터링을 시작합니다. (총 " +
+                monitoring.symbolsOf(chatId).length + "개 종목)\n" +
+                "변동이 큰 종목일수록 자주 최신 정보를 전송합니다.\n" +
                 "💼 포트폴리오 정보도 함께 표시됩니다.\n\n" +
                 "중지하려면 /stop 입력";
     }
 
     /**
-     * 연속 모니터링 중지
+     * 연속 모니터링 중지 (전체)
      */
     public String stopMonitoring(Long chatId) {
-        String stockName = monitoring.remove(chatId);
+        int[] removed = monitoring.removeAll(chatId);
         Integer count = updateCounts.remove(chatId);
+        lastSentAt.remove(chatId);
+        liveMessages.remove(chatId);
+        for (int symbolId : removed) {
+            forgetIfUnwatched(symbolId);
+        }
 
-        if (stockName != null) {
-            return "⏹️ '" + stockName + "' 모니터링을 중지했습니다.\n" +
+        if (removed.length > 0) {
+            String target = removed.length == 1 ? "'" + nameOf(removed[0]) + "'" : removed.length + "개 종목";
+            return "⏹️ " + target + " 모니터링을 중지했습니다.\n" +
                     "총 " + count + "회 업데이트되었습니다.";
         }
         return "❌ 진행 중인 모니터링이 없습니다.";
     }
 
     /**
-     * 10초마다 모니터링 중인 종목 정보 전송 (포트폴리오 정보 포함)
+     * 연속 모니터링 중지 (한 종목)
      */
-    @Scheduled(fixedRate = 10000) // 10초
-    public void sendContinuousUpdates() {
+    public String stopMonitoring(Long chatId, String stockName) {
+        StockService.StockInfo stockInfo = stockService.resolveStock(stockName);
+        if (stockInfo == null || !monitoring.remove(chatId, SymbolTable.parseCode(stockInfo.code))) {
+            return "❌ '" + stockName + "'은(는) 모니터링 중인 종목이 아닙니다.";
+        }
+        forgetIfUnwatched(SymbolTable.parseCode(stockInfo.code));
+        if (monitoring.symbolsOf(chatId).length == 0) {
+            updateCounts.remove(chatId);
+            lastSentAt.remove(chatId);
+            liveMessages.remove(chatId);
+        }
+        return "⏹️ '" + stockInfo.name + "' 모니터링을 중지했습니다. (남은 종목 " +
+                monitoring.symbolsOf(chatId).length + "개)";
+    }
+
+    private void forgetIfUnwatched(int symbolId) {
+        if (monitoring.chatsOf(symbolId).length == 0) {
+            lastQuotes.remove(symbolId);
+        }
+    }
+
+    /**
+     * 모니터링 중인 종목 정보 전송 (포트폴리오 정보 포함)
+     * 시세 틱을 받아 그 종목이 있는 채팅에만 전송 (시세 버스 구독 스레드에서 실행)
+     * 장 마감 중에는 폴러가 거의 조회하지 않으므로 전송도 거의 없음
+     */
+    private void onTicks(List<Quote> ticks) {
         if (monitoring.isEmpty()) {
             return;
         }
 
-        String currentTime = dateFormat.format(new Date());
-        System.out.println("🔄 [" + currentTime + "] 연속 모니터링 업데이트 - 모니터링 중: " + monitoring.size());
+        long now = System.currentTimeMillis();
+        Set<Integer> updated = new HashSet<>();
+        for (Quote quote : ticks) {
+            int symbolId = SymbolTable.parseCode(quote.getCode());
+            if (monitoring.chatsOf(symbolId).length > 0) {
+                lastQuotes.put(symbolId, quote);
+                updated.add(symbolId);
+            }
+        }
+        if (updated.isEmpty()) {
+            return;
+        }
+
+        String currentTime = LocalTime.now(MarketCalendar.KST).format(TIME_FORMAT);
+        System.out.println("🔄 [" + currentTime + "] 연속 모니터링 업데이트 - 모니터링 중: " +
+                monitoring.chatCount() + "명, " + monitoring.subscriptionCount() + "건, 갱신 종목: " +
+                updated.size());
+
+        // 이번에 갱신된 종목이 있고 최소 전송 간격이 지난 채팅 (전송은 잠금 밖에서)
+        Set<Long> targets = new HashSet<>();
+        for (int symbolId : updated) {
+            for (long chatId : monitoring.chatsOf(symbolId)) {
+                if (now - lastSentAt.getOrDefault(chatId, 0L) >= MIN_SEND_INTERVAL_MS) {
+                    targets.add(chatId);
+                }
+            }
+        }
 
-        monitoring.forEach((chatId, stockName) -> {
+        for (long chatId : targets) {
+            lastSentAt.put(chatId, now);
             try {
+                LiveMessage live = liveMessages.get(chatId);
+                if (live != null) {
+                    updateLive(chatId, live, currentTime);
+                    continue;
+                }
+
                 // 주식 정보 조회 (포트폴리오 정보 포함)
-                String stockInfo = stockService.getStockPrice(stockName, chatId);
+                String stockInfo = renderBlocks(chatId);
 
                 // 업데이트 횟수 증가
                 int count = updateCounts.getOrDefault(chatId, 0) + 1;
@@ -82,36 +299,131 @@ public class ContinuousMonitoringService {
 
                 // 메시지 생성
                 String message = String.format(
-                        "🔄 실시간 모니터링 #%d\n⏰ %s\n\n%s\n\n중지하려면 /stop 입력",
-                        count, currentTime, stockInfo
+                        "🔄 실시간 모니터링 #%d\n⏰ %s (%s)\n\n%s\n\n중지하려면 /stop 입력",
+                        count, currentTime, marketCalendar.describe(), stockInfo
                 );
 
                 // 텔레그램 전송
                 telegram.sendMessageToChat(chatId, message);
 
-                System.out.println("✅ 모니터링 업데이트 전송: " + stockName + " (#" + count + ")");
+                System.out.println("✅ 모니터링 업데이트 전송: chatId " + chatId + " (#" + count + ")");
 
             } catch (Exception e) {
-                System.err.println("❌ 모니터링 오류 (" + stockName + "): " + e.getMessage());
+                System.err.println("❌ 모니터링 오류 (chatId " + chatId + "): " + e.getMessage());
 
                 telegram.sendMessageToChat(chatId,
                         "⚠️ 모니터링 중 오류 발생\n" +
-                                "종목: " + stockName + "\n" +
                                 "오류: " + e.getMessage() + "\n\n" +
                                 "중지하려면 /stop 입력");
             }
-        });
+        }
+    }
+
+    /**
+     * 종목별 상세 정보 (포트폴리오 정보 포함, 종목 사이 구분선)
+     */
+    private String renderBlocks(long chatId) {
+        StringBuilder stockInfo = new StringBuilder();
+        for (int symbolId : monitoring.symbolsOf(chatId)) {
+            if (stockInfo.length() > 0) {
+                stockInfo.append("\n\n━━━━━━━━━━━━━━━━━━━━\n\n");
+            }
+            Quote quote = lastQuotes.get(symbolId);
+            stockInfo.append(quote != null
+                    ? stockService.renderQuote(quote, chatId)
+                    : "⚠️ '" + nameOf(symbolId) + "' 정보 조회 실패");
+        }
+        return stockInfo.toString();
+    }
+
+    /**
+     * 대시보드 표 (종목당 한 줄, 아직 시세가 없는 종목은 따로 표시)
+     */
+    private String renderDashboard(long chatId) {
+        List<Quote> quotes = new ArrayList<>();
+        List<String> pending = new ArrayList<>();
+        for (int symbolId : monitoring.symbolsOf(chatId)) {
+            Quote quote = lastQuotes.get(symbolId);
+            if (quote != null) {
+                quotes.add(quote);
+            } else {
+                pending.add(nameOf(symbolId));
+            }
+        }
+        String table = stockService.formatDashboard(quotes, chatId);
+        return pending.isEmpty() ? table : table + "\n⏳ 조회 대기: " + String.join(", ", pending);
+    }
+
+    /**
+     * 라이브 메시지 갱신 (처음엔 전송, 이후엔 수정, 종목 정보가 그대로면 아무것도 안 보냄)
+     * 메시지가 지워졌거나 너무 오래되어 고칠 수 없으면 새로 보냄 (일시 실패면 다음 틱에 같은 메시지를 다시 고침)
+     * 대시보드 시작(명령 스레드)과 틱 처리(구독 스레드)가 겹치지 않게 메시지별로 잠금
+     * 전송은 발신 큐에서 비동기로, 이전 전송 결과가 오기 전에는 다음 틱으로 미룸 (중복 메시지 방지)
+     */
+    private void updateLive(long chatId, LiveMessage live, String currentTime) {
+        synchronized (live) {
+            String body = live.dashboard ? renderDashboard(chatId) : renderBlocks(chatId);
+            if (live.inFlight || body.equals(live.body)) {
+                return;
+            }
+
+            // 갱신 횟수는 전송/수정이 성공했을 때만 올림 (실패 후 재시도는 같은 번호)
+            int count = updateCounts.getOrDefault(chatId, 0) + 1;
+
+            String message = live.dashboard
+                    ? String.format("📋 대시보드 (%d종목, %d회 갱신)\n⏰ %s 기준 (%s)\n\n%s\n중지: /stop",
+                            monitoring.symbolsOf(chatId).length, count, currentTime, marketCalendar.describe(), body)
+                    : String.format("📺 라이브 모니터링 (%d회 갱신)\n⏰ %s 기준 (%s)\n\n%s\n\n일반 모드로: /live off, 중지: /stop",
+                            count, currentTime, marketCalendar.describe(), body);
+
+            Integer messageId = live.messageId;
+            live.inFlight = true;
+            CompletableFuture<Integer> delivered = messageId == null
+                    ? telegram.sendEditableMessage(chatId, message)
+                    : telegram.editMessage(chatId, messageId, message).thenCompose(result -> switch (result) {
+                        case EDITED -> CompletableFuture.completedFuture(messageId);
+                        case GONE -> telegram.sendEditableMessage(chatId, message);
+                        case FAILED -> {
+                            // 일시 실패: 같은 메시지를 다음 틱에 다시 고침 (새 메시지를 보내면 중복)
+                            System.err.println("⚠️ 라이브 메시지 수정 실패 - 다음 갱신 때 재시도: chatId " + chatId);
+                            yield CompletableFuture.completedFuture(null);
+                        }
+                    });
+            delivered.whenComplete((sentId, e) -> {
+                synchronized (live) {
+                    if (sentId != null) {
+                        live.messageId = sentId;
+                        live.body = body;
+                        updateCounts.computeIfPresent(chatId, (id, done) -> Math.max(done, count));
+                        System.out.println("✅ 라이브 메시지 갱신: chatId " + chatId + " (#" + count + ")");
+                    }
+                    live.inFlight = false;
+                }
+            });
+        }
     }
 
     /**
      * 현재 모니터링 상태 확인
      */
     public String getMonitoringStatus(Long chatId) {
-        String stockName = monitoring.get(chatId);
-        if (stockName != null) {
+        int[] symbols = monitoring.symbolsOf(chatId);
+        if (symbols.length > 0) {
+            List<String> names = new ArrayList<>();
+            for (int symbolId : symbols) {
+                long interval = poller.intervalOf(symbolId);
+                names.add(interval > 0
+                        ? String.format("%s(%.1f초)", nameOf(symbolId), interval / 1000.0)
+                        : nameOf(symbolId));
+            }
             int count = updateCounts.getOrDefault(chatId, 0);
-            return "🔄 현재 모니터링 중: " + stockName + "\n" +
-                    "⏱️ 업데이트 주기: 10초\n" +
+            LiveMessage live = liveMessages.get(chatId);
+            return "🔄 현재 모니터링 중: " + String.join(", ", names) + "\n" +
+                    (live != null
+                            ? (live.dashboard ? "📋 대시보드 모드" : "📺 라이브 모드") + " (메시지 하나를 고쳐서 갱신)\n"
+                            : "") +
+                    "⏱️ 업데이트 주기: 종목별 변동성에 따라 자동 조정 (최소 " +
+                    MIN_SEND_INTERVAL_MS / 1000 + "초)\n" +
                     "📊 업데이트 횟수: " + count + "회\n" +
                     "💼 포트폴리오 정보 포함\n\n" +
                     "중지하려면 /stop 입력";
@@ -123,6 +435,12 @@ public class ContinuousMonitoringService {
      * 모니터링 중인지 확인
      */
     public boolean isMonitoring(Long chatId) {
-        return monitoring.containsKey(chatId);
+        return monitoring.symbolsOf(chatId).length > 0;
+    }
+
+    private String nameOf(int symbolId) {
+        String code = SymbolTable.formatCode(symbolId);
+        StockService.StockInfo stockInfo = stockService.resolveStock(code);
+        return stockInfo != null ? stockInfo.name : code;
     }
 }
\ No newline at end of file
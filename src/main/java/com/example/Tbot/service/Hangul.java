@@ -0,0 +1,77 @@
+package com.example.Tbot.service;
+
+/**
+ * 한글 검색 키 변환 (초성, 로마자)
+ * 완성형 음절(가~힣)만 분해하고 나머지 글자는 그대로 둠
+ */
+final class Hangul {
+
+    private static final char SYLLABLE_FIRST = '가';
+    private static final char SYLLABLE_LAST = '힣';
+    private static final int MEDIAL_COUNT = 21;
+    private static final int FINAL_COUNT = 28;
+
+    private static final char[] CHOSEONG = {
+            'ㄱ', 'ㄲ', 'ㄴ', 'ㄷ', 'ㄸ', 'ㄹ', 'ㅁ', 'ㅂ', 'ㅃ', 'ㅅ',
+            'ㅆ', 'ㅇ', 'ㅈ', 'ㅉ', 'ㅊ', 'ㅋ', 'ㅌ', 'ㅍ', 'ㅎ'
+    };
+
+    // 국어의 로마자 표기법 (음운 변화는 반영하지 않음)
+    private static final String[] ROMAN_INITIAL = {
+            "g", "kk", "n", "d", "tt", "r", "m", "b", "pp", "s",
+            "ss", "", "j", "jj", "ch", "k", "t", "p", "h"
+    };
+    private static final String[] ROMAN_MEDIAL = {
+            "a", "ae", "ya", "yae", "eo", "e", "yeo", "ye", "o", "wa", "wae",
+            "oe", "yo", "u", "wo", "we", "wi", "yu", "eu", "ui", "i"
+    };
+    private static final String[] ROMAN_FINAL = {
+            "", "k", "k", "k", "n", "n", "n", "t", "l", "k", "m", "l", "l", "l",
+            "p", "l", "m", "p", "p", "t", "t", "ng", "t", "t", "k", "t", "p", "t"
+    };
+
+    private Hangul() {
+    }
+
+    static boolean isSyllable(char c) {
+        return c >= SYLLABLE_FIRST && c <= SYLLABLE_LAST;
+    }
+
+    static boolean containsSyllable(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (isSyllable(text.charAt(i))) return true;
+        }
+        return false;
+    }
+
+    /**
+     * 초성 변환 (예: "삼성전자" -> "ㅅㅅㅈㅈ", "sk하이닉스" -> "skㅎㅇㄴㅅ")
+     */
+    static String choseong(String text) {
+        StringBuilder sb = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            sb.append(isSyllable(c) ? CHOSEONG[(c - SYLLABLE_FIRST) / (MEDIAL_COUNT * FINAL_COUNT)] : c);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 로마자 변환 (예: "삼성전자" -> "samseongjeonja")
+     */
+    static String romanize(String text) {
+        StringBuilder sb = new StringBuilder(text.length() * 3);
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (!isSyllable(c)) {
+                sb.append(c);
+                continue;
+            }
+            int offset = c - SYLLABLE_FIRST;
+            sb.append(ROMAN_INITIAL[offset / (MEDIAL_COUNT * FINAL_COUNT)])
+                    .append(ROMAN_MEDIAL[(offset / FINAL_COUNT) % MEDIAL_COUNT])
+                    .append(ROMAN_FINAL[offset % FINAL_COUNT]);
+        }
+        return sb.toString();
+    }
+}
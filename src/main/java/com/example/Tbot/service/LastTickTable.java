@@ -0,0 +1,150 @@
+package com.example.Tbot.service;
+
+import java.util.Arrays;
+
+/**
+ * 종목별 마지막 시세 (가격, 거래량, 조회 시각)
+ * 종목 번호(SymbolTable.parseCode) 키 오픈 어드레싱 + 기본형 배열 (객체/문자열 없이 숫자만 비교)
+ */
+final class LastTickTable {
+
+    // observe 결과
+    static final int FIRST = 0;      // 처음 본 종목
+    static final int STALE = 1;      // 이미 본 시세 (조회 시각이 같거나 이전)
+    static final int UNCHANGED = 2;  // 가격/거래량 모두 같음
+    static final int VOLUME = 3;     // 거래량만 변함
+    static final int PRICE = 4;      // 가격 변함
+
+    private static final int EMPTY = Integer.MIN_VALUE;
+
+    private int[] keys;
+    private double[] prices;
+    private long[] volumes;
+    private long[] timestamps;
+    private int size;
+
+    LastTickTable() {
+        allocate(16);
+    }
+
+    /**
+     * 새 시세 반영 후 이전 값과 비교한 결과 반환
+     */
+    synchronized int observe(int symbolId, double price, long volume, long timestamp) {
+        int slot = find(symbolId);
+        if (slot < 0) {
+            insert(symbolId, price, volume, timestamp);
+            return FIRST;
+        }
+        if (timestamp <= timestamps[slot]) {
+            return STALE;
+        }
+
+        int result = prices[slot] != price ? PRICE : (volumes[slot] != volume ? VOLUME : UNCHANGED);
+        prices[slot] = price;
+        volumes[slot] = volume;
+        timestamps[slot] = timestamp;
+        return result;
+    }
+
+    /**
+     * 처음 보는 종목일 때만 저장 (구독 시 기준값)
+     */
+    synchronized void seed(int symbolId, double price, long volume, long timestamp) {
+        if (find(symbolId) < 0) {
+            insert(symbolId, price, volume, timestamp);
+        }
+    }
+
+    synchronized void remove(int symbolId) {
+        int slot = find(symbolId);
+        if (slot < 0) return;
+
+        int mask = keys.length - 1;
+        keys[slot] = EMPTY;
+        size--;
+
+        // 같은 군집의 뒤 칸을 당겨서 탐사가 끊기지 않게 함
+        int next = (slot + 1) & mask;
+        while (keys[next] != EMPTY) {
+            int home = slotOf(keys[next], keys.length);
+            if (((next - home) & mask) >= ((next - slot) & mask)) {
+                keys[slot] = keys[next];
+                prices[slot] = prices[next];
+                volumes[slot] = volumes[next];
+                timestamps[slot] = timestamps[next];
+                keys[next] = EMPTY;
+                slot = next;
+            }
+            next = (next + 1) & mask;
+        }
+    }
+
+    /**
+     * 마지막 가격 (없으면 NaN)
+     */
+    synchronized double price(int symbolId) {
+        int slot = find(symbolId);
+        return slot >= 0 ? prices[slot] : Double.NaN;
+    }
+
+    /**
+     * 마지막 조회 시각 (없으면 0)
+     */
+    synchronized long timestamp(int symbolId) {
+        int slot = find(symbolId);
+        return slot >= 0 ? timestamps[slot] : 0;
+    }
+
+    synchronized int size() {
+        return size;
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        Arrays.fill(keys, EMPTY);
+        prices = new double[capacity];
+        volumes = new long[capacity];
+        timestamps = new long[capacity];
+        size = 0;
+    }
+
+    private static int slotOf(int symbolId, int capacity) {
+        int h = symbolId * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & (capacity - 1);
+    }
+
+    private int find(int symbolId) {
+        int mask = keys.length - 1;
+        for (int slot = slotOf(symbolId, keys.length); keys[slot] != EMPTY; slot = (slot + 1) & mask) {
+            if (keys[slot] == symbolId) return slot;
+        }
+        return -1;
+    }
+
+    private void insert(int symbolId, double price, long volume, long timestamp) {
+        if ((size + 1) * 4 > keys.length * 3) {
+            int[] oldKeys = keys;
+            double[] oldPrices = prices;
+            long[] oldVolumes = volumes;
+            long[] oldTimestamps = timestamps;
+            allocate(keys.length * 2);
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != EMPTY) {
+                    insert(oldKeys[i], oldPrices[i], oldVolumes[i], oldTimestamps[i]);
+                }
+            }
+        }
+
+        int mask = keys.length - 1;
+        int slot = slotOf(symbolId, keys.length);
+        while (keys[slot] != EMPTY) {
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = symbolId;
+        prices[slot] = price;
+        volumes[slot] = volume;
+        timestamps[slot] = timestamp;
+        size++;
+    }
+}
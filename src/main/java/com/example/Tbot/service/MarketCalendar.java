@@ -0,0 +1,243 @@
+package com.example.Tbot.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * KRX 거래 시간표 (한국 시간 기준)
+ * 장 시작 전(08:30~09:00), 정규장(09:00~15:30), 시간외(15:30~18:00), 그 외/주말/휴장일은 장 마감
+ * 스케줄러는 shouldPoll로 장 마감 중 조회를 거의 멈추고, 장이 열리면 바로 다시 조회
+ */
+@Service
+public class MarketCalendar {
+
+    public static final ZoneId KST = ZoneId.of("Asia/Seoul");
+
+    private static final String CLASSPATH_HOLIDAYS = "stocks/krx-holidays.txt";
+
+    private static final LocalTime PRE_OPEN = LocalTime.of(8, 30);
+    private static final LocalTime OPEN = LocalTime.of(9, 0);
+    private static final LocalTime CLOSE = LocalTime.of(15, 30);
+    private static final LocalTime AFTER_HOURS_CLOSE = LocalTime.of(18, 0);
+
+    private static final DateTimeFormatter NEXT_OPEN_FORMAT = DateTimeFormatter.ofPattern("M/d(E) HH:mm", Locale.KOREAN);
+
+    public enum Session {
+        PRE_OPEN("장 시작 전"),
+        REGULAR("정규장"),
+        AFTER_HOURS("시간외 거래"),
+        CLOSED("장 마감");
+
+        private final String label;
+
+        Session(String label) {
+            this.label = label;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+    }
+
+    private final Clock clock;
+    private final Set<LocalDate> holidays;
+
+    // 장 마감 중 조회 간격 (가격이 안 움직이므로 가끔만 확인)
+    private final long closedPollIntervalMs;
+
+    // 작업별 마지막 장 마감 중 조회 시각 / 마지막으로 본 장 상태 (상태가 바뀔 때만 로그)
+    private final Map<String, Long> lastClosedPoll = new ConcurrentHashMap<>();
+    private final Map<String, Session> lastSession = new ConcurrentHashMap<>();
+
+    // 휴장일 파일이 다루는 연도 (목록에 없는 해는 주말만 휴장으로 처리됨)
+    private final Set<Integer> holidayYears;
+    private volatile int checkedYear;
+
+    public MarketCalendar(@Value("${stock.market.holidays-path:}") String holidaysPath,
+                          @Value("${stock.market.closed-poll-interval-ms:3600000}") long closedPollIntervalMs,
+                          Clock clock) {
+        this.clock = clock;
+        this.closedPollIntervalMs = closedPollIntervalMs;
+        this.holidays = loadHolidays(holidaysPath);
+
+        Set<Integer> years = new HashSet<>();
+        holidays.forEach(date -> years.add(date.getYear()));
+        this.holidayYears = Set.copyOf(years);
+        checkHolidayCoverage(LocalDate.now(clock));
+    }
+
+    /**
+     * 지금 장 상태
+     */
+    public Session currentSession() {
+        return sessionAt(ZonedDateTime.now(clock));
+    }
+
+    /**
+     * 장 시작 전/정규장/시간외 중인지
+     */
+    public boolean isOpen() {
+        return currentSession() != Session.CLOSED;
+    }
+
+    public Session sessionAt(ZonedDateTime time) {
+        ZonedDateTime kst = time.withZoneSameInstant(KST);
+        if (!isTradingDay(kst.toLocalDate())) {
+            return Session.CLOSED;
+        }
+
+        LocalTime t = kst.toLocalTime();
+        if (t.isBefore(PRE_OPEN)) return Session.CLOSED;
+        if (t.isBefore(OPEN)) return Session.PRE_OPEN;
+        if (t.isBefore(CLOSE)) return Session.REGULAR;
+        if (t.isBefore(AFTER_HOURS_CLOSE)) return Session.AFTER_HOURS;
+        return Session.CLOSED;
+    }
+
+    public boolean isTradingDay(LocalDate date) {
+        DayOfWeek day = date.getDayOfWeek();
+        return day != DayOfWeek.SATURDAY && day != DayOfWeek.SUNDAY && !holidays.contains(date);
+    }
+
+    /**
+     * 다음 장 시작 시각 (장 시작 전 동시호가 기준)
+     */
+    public ZonedDateTime nextOpen(ZonedDateTime from) {
+        ZonedDateTime kst = from.withZoneSameInstant(KST);
+        LocalDate date = kst.toLocalDate();
+        if (!kst.toLocalTime().isBefore(PRE_OPEN)) {
+            date = date.plusDays(1);
+        }
+        while (!isTradingDay(date)) {
+            date = date.plusDays(1);
+        }
+        return date.atTime(PRE_OPEN).atZone(KST);
+    }
+
+    /**
+     * 스케줄러 실행 여부
+     * 장 중에는 항상 true, 장 마감 중에는 closedPollIntervalMs마다 한 번만 true
+     */
+    public boolean shouldPoll(String job) {
+        checkHolidayCoverage(LocalDate.now(clock));
+        Session session = currentSession();
+        Session previous = lastSession.put(job, session);
+        if (previous != session) {
+            System.out.println("🕘 [" + job + "] 장 상태: " + session.getLabel() +
+                    (session == Session.CLOSED ? " (조회 중지, 다음 개장 " + formatNextOpen() + ")" : " (조회 재개)"));
+        }
+
+        if (session != Session.CLOSED) {
+            lastClosedPoll.remove(job);
+            return true;
+        }
+
+        long now = clock.millis();
+        Long last = lastClosedPoll.get(job);
+        if (last != null && now - last < closedPollIntervalMs) {
+            return false;
+        }
+        lastClosedPoll.put(job, now);
+        return true;
+    }
+
+    /**
+     * 상태 표시용 (예: "장 마감 (다음 개장 10/19(월) 08:30)")
+     */
+    public String describe() {
+        Session session = currentSession();
+        if (session == Session.CLOSED) {
+            return session.getLabel() + " (다음 개장 " + formatNextOpen() + ")";
+        }
+        return session.getLabel();
+    }
+
+    /**
+     * 올해 휴장일이 목록에 없으면 경고 (해가 바뀔 때마다 한 번)
+     * 휴장일 파일을 갱신하지 않으면 공휴일에도 장이 열린 것으로 보고 조회함
+     */
+    private void checkHolidayCoverage(LocalDate today) {
+        int year = today.getYear();
+        if (year == checkedYear) {
+            return;
+        }
+        checkedYear = year;
+        if (!holidayYears.contains(year)) {
+            System.err.println("⚠️ " + year + "년 휴장일이 목록에 없습니다 - 주말만 휴장으로 처리됩니다 " +
+                    "(stock.market.holidays-path 또는 " + CLASSPATH_HOLIDAYS + " 갱신 필요)");
+        }
+    }
+
+    private String formatNextOpen() {
+        return nextOpen(ZonedDateTime.now(clock)).format(NEXT_OPEN_FORMAT);
+    }
+
+    private Set<LocalDate> loadHolidays(String holidaysPath) {
+        if (!holidaysPath.isBlank()) {
+            try (Reader reader = Files.newBufferedReader(Path.of(holidaysPath), StandardCharsets.UTF_8)) {
+                return parseHolidays(reader, holidaysPath);
+            } catch (IOException e) {
+                System.err.println("❌ 휴장일 파일 로딩 실패: " + holidaysPath + " - " + e.getMessage() +
+                        " (내장 파일 사용)");
+            }
+        }
+
+        try (InputStream in = MarketCalendar.class.getClassLoader().getResourceAsStream(CLASSPATH_HOLIDAYS)) {
+            if (in == null) {
+                System.err.println("⚠️ 내장 휴장일 파일 없음: " + CLASSPATH_HOLIDAYS + " (주말만 휴장 처리)");
+                return Set.of();
+            }
+            return parseHolidays(new InputStreamReader(in, StandardCharsets.UTF_8), CLASSPATH_HOLIDAYS);
+        } catch (IOException e) {
+            System.err.println("❌ 내장 휴장일 파일 로딩 실패: " + e.getMessage() + " (주말만 휴장 처리)");
+            return Set.of();
+        }
+    }
+
+    /**
+     * 한 줄에 날짜 하나 (yyyy-MM-dd), '#' 주석과 빈 줄은 무시
+     */
+    static Set<LocalDate> parseHolidays(Reader source, String sourceName) throws IOException {
+        Set<LocalDate> dates = new HashSet<>();
+        BufferedReader reader = new BufferedReader(source);
+
+        String line;
+        int lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("#")) continue;
+
+            try {
+                dates.add(LocalDate.parse(line));
+            } catch (DateTimeParseException e) {
+                System.err.println("⚠️ 휴장일 형식 오류 (" + sourceName + ":" + lineNumber + "): " + line);
+            }
+        }
+
+        System.out.println("📅 휴장일 로딩: " + sourceName + " - " + dates.size() + "일");
+        return Set.copyOf(dates);
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.Tbot.service;
+
+import com.example.Tbot.config.JobScheduler;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.IntUnaryOperator;
+import java.util.function.Supplier;
+
+/**
+ * 시세 폴러 (알림/모니터링 공용)
+ * 구독자들이 지켜보는 종목을 모아 종목마다 한 번만 조회하고, 결과를 QuoteTickBus로 발행
+ * 종목별 간격은 AdaptivePollPlanner가 정하고 (지켜보는 수는 구독자들 합), 장 마감 중에는 거의 조회하지 않음
+ */
+@Service
+public class MarketDataPoller {
+
+    private final StockService stockService;
+    private final MarketCalendar marketCalendar;
+    private final QuoteTickBus tickBus;
+
+    // 종목별 조회 간격 (변동성/지켜보는 수 기반)
+    private final AdaptivePollPlanner pollPlanner;
+
+    private static final class Watcher {
+        final String name;
+        final Supplier<Collection<Integer>> symbols;
+        final IntUnaryOperator watcherCount;
+
+        Watcher(String name, Supplier<Collection<Integer>> symbols, IntUnaryOperator watcherCount) {
+            this.name = name;
+            this.symbols = symbols;
+            this.watcherCount = watcherCount;
+        }
+    }
+
+    private final List<Watcher> watchers = new CopyOnWriteArrayList<>();
+
+    public MarketDataPoller(StockService stockService, MarketCalendar marketCalendar,
+                            QuoteTickBus tickBus, PollPlannerFactory pollPlannerFactory,
+                            JobScheduler jobScheduler,
+                            @Value("${stock.poll.tick-ms:1000}") long tickMs) {
+        this.stockService = stockService;
+        this.marketCalendar = marketCalendar;
+        this.tickBus = tickBus;
+        this.pollPlanner = pollPlannerFactory.create();
+
+        // 전용 스레드에서 실행, 느린 조회가 다음 틱과 겹치면 그 틱은 건너뜀
+        jobScheduler.schedule("poller", tickMs, tickMs, this::poll);
+    }
+
+    /**
+     * 조회할 종목 목록 등록
+     * @param symbols      지켜보는 종목 번호 (SymbolTable.parseCode)
+     * @param watcherCount 종목을 지켜보는 수 (많을수록 자주 조회)
+     */
+    public void addWatcher(String name, Supplier<Collection<Integer>> symbols, IntUnaryOperator watcherCount) {
+        watchers.add(new Watcher(name, symbols, watcherCount));
+    }
+
+    /**
+     * 매초 조회 시점이 된 종목만 골라 시세 한 번 조회 후 발행
+     */
+    public void poll() {
+        // 지켜보는 종목과 지켜보는 수 (구독자들 합)
+        Map<Integer, Integer> counts = new HashMap<>();
+        for (Watcher watcher : watchers) {
+            for (Integer symbolId : watcher.symbols.get()) {
+                counts.merge(symbolId, watcher.watcherCount.applyAsInt(symbolId), Integer::sum);
+            }
+        }
+        if (counts.isEmpty()) {
+            return;
+        }
+
+        // 장 마감 중에는 가끔만 확인 (가격이 움직이지 않음)
+        if (!marketCalendar.shouldPoll("poller")) {
+            return;
+        }
+
+        // 지금 조회할 종목 (장 마감 중 확인 때는 전부)
+        List<Integer> due = marketCalendar.isOpen()
+                ? pollPlanner.due(counts.keySet(), symbolId -> counts.getOrDefault(symbolId, 0),
+                        System.currentTimeMillis())
+                : new ArrayList<>(counts.keySet());
+        if (due.isEmpty()) {
+            return;
+        }
+
+        Set<String> codes = new HashSet<>();
+        for (int symbolId : due) {
+            codes.add(SymbolTable.formatCode(symbolId));
+        }
+        Map<String, Quote> quotes = stockService.getQuotesByCode(codes);
+
+        List<Quote> ticks = new ArrayList<>(quotes.size());
+        for (String code : codes) {
+            Quote quote = quotes.get(code);
+            if (quote == null) {
+                System.err.println("❌ 시세 조회 실패: " + code);
+                continue;
+            }
+            pollPlanner.observe(SymbolTable.parseCode(code), quote.getPrice(), quote.getTimestamp());
+            ticks.add(quote);
+        }
+
+        System.out.println("📡 [" + new java.util.Date() + "] 시세 발행 - 조회 종목: " + ticks.size() +
+                "/" + counts.size() + " (" + tickBus.describe() + ")");
+        tickBus.publish(ticks);
+    }
+
+    /**
+     * 종목의 현재 조회 간격 (조회하지 않는 종목은 -1)
+     */
+    public long intervalOf(int symbolId) {
+        return pollPlanner.intervalOf(symbolId);
+    }
+}
@@ -258,7 +258,7 @@ public class MenuService {
                 삼성전자
                 SK하이닉스
                 
-                💡 10초마다 실시간 정보를 전송합니다
+                💡 변동이 큰 종목일수록 자주 실시간 정보를 전송합니다
                 
                 0️⃣ 이전 메뉴로
                 """;
@@ -0,0 +1,37 @@
+package com.example.Tbot.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 조회 간격 계획기 생성 (시세 폴러용, stock.poll.* 설정)
+ */
+@Component
+public class PollPlannerFactory {
+
+    private final long minIntervalMs;
+    private final long maxIntervalMs;
+    private final long defaultIntervalMs;
+    private final double targetMovePercent;
+    private final double budgetPerSecond;
+    private final int batchSize;
+
+    public PollPlannerFactory(@Value("${stock.poll.min-interval-ms:2000}") long minIntervalMs,
+                              @Value("${stock.poll.max-interval-ms:30000}") long maxIntervalMs,
+                              @Value("${stock.poll.default-interval-ms:10000}") long defaultIntervalMs,
+                              @Value("${stock.poll.target-move-pct:0.1}") double targetMovePercent,
+                              @Value("${stock.poll.budget-per-sec:5}") double budgetPerSecond,
+                              @Value("${stock.batch.chunk-size:20}") int batchSize) {
+        this.minIntervalMs = minIntervalMs;
+        this.maxIntervalMs = maxIntervalMs;
+        this.defaultIntervalMs = defaultIntervalMs;
+        this.targetMovePercent = targetMovePercent;
+        this.budgetPerSecond = budgetPerSecond;
+        this.batchSize = batchSize;
+    }
+
+    AdaptivePollPlanner create() {
+        return new AdaptivePollPlanner(minIntervalMs, maxIntervalMs, defaultIntervalMs,
+                targetMovePercent, budgetPerSecond, batchSize);
+    }
+}
@@ -2,6 +2,7 @@ package com.example.Tbot.service;
 
 import org.springframework.stereotype.Service;
 
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -163,6 +164,17 @@ public class PortfolioService {
         return userPortfolio.get(stockName);
     }
 
+    /**
+     * 보유 종목명 목록 (이름순)
+     */
+    public List<String> getStockNames(Long chatId) {
+        Map<String, Stock> userPortfolio = portfolios.get(chatId);
+        if (userPortfolio == null) {
+            return List.of();
+        }
+        return userPortfolio.keySet().stream().sorted().toList();
+    }
+
     /**
      * 전체 포트폴리오 통계
      */
@@ -0,0 +1,47 @@
+package com.example.Tbot.service;
+
+/**
+ * 시세 정보 (불변)
+ * 네이버 실시간 시세 응답 한 건을 숫자 값으로 보관
+ */
+public final class Quote {
+
+    private final String code;        // 종목 코드 (지수는 KOSPI/KOSDAQ)
+    private final String name;        // 종목명
+    private final double price;       // 현재가
+    private final double change;      // 전일대비
+    private final double changeRate;  // 등락률 (%)
+    private final long volume;        // 거래량
+    private final long timestamp;     // 조회 시각 (epoch ms)
+
+    public Quote(String code, String name, double price, double change,
+                 double changeRate, long volume, long timestamp) {
+        this.code = code;
+        this.name = name;
+        this.price = price;
+        this.change = change;
+        this.changeRate = changeRate;
+        this.volume = volume;
+        this.timestamp = timestamp;
+    }
+
+    public String getCode() { return code; }
+    public String getName() { return name; }
+    public double getPrice() { return price; }
+    public double getChange() { return change; }
+    public double getChangeRate() { return changeRate; }
+    public long getVolume() { return volume; }
+    public long getTimestamp() { return timestamp; }
+
+    /**
+     * 등락 표시 (변화율로 상승/하락 판단)
+     */
+    public String getArrow() {
+        return changeRate < 0 ? "🔻" : (changeRate > 0 ? "🔺" : "➖");
+    }
+
+    @Override
+    public String toString() {
+        return name + "(" + code + ") " + price + " " + changeRate + "%";
+    }
+}
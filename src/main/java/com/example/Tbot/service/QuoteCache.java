@@ -0,0 +1,320 @@
+package com.example.Tbot.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * 시세 캐시 (종목 코드 -> 최근 시세)
+ * 같은 종목을 여러 채팅/스케줄러가 조회해도 신선도 구간(TTL) 안에서는 API를 한 번만 호출
+ */
+@Service
+public class QuoteCache {
+
+    private final long ttlMillis;
+    private final int maxSize;
+
+    // 종목 코드별 시세 저장
+    private final Map<String, CachedQuote> cache = new ConcurrentHashMap<>();
+
+    // 조회 중인 종목 (같은 종목 동시 요청은 하나의 API 호출 결과를 공유)
+    private final Map<String, CompletableFuture<Quote>> inFlight = new ConcurrentHashMap<>();
+
+    // 용량 초과 시 정리는 한 스레드만 수행
+    private final ReentrantLock evictionLock = new ReentrantLock();
+
+    // 통계
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+
+    private static class CachedQuote {
+        final Quote data;
+        final long fetchedAt;
+
+        CachedQuote(Quote data, long fetchedAt) {
+            this.data = data;
+            this.fetchedAt = fetchedAt;
+        }
+    }
+
+    public QuoteCache(@Value("${stock.quote-cache.ttl-ms:3000}") long ttlMillis,
+                      @Value("${stock.quote-cache.max-size:5000}") int maxSize) {
+        this.ttlMillis = ttlMillis;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * 캐시된 시세 조회 (없거나 만료되면 null)
+     */
+    public Quote get(String code) {
+        CachedQuote cached = cache.get(code);
+        if (cached == null || isExpired(cached, System.currentTimeMillis())) {
+            misses.incrementAndGet();
+            return null;
+        }
+
+        hits.incrementAndGet();
+        return cached.data;
+    }
+
+    /**
+     * 시세 저장
+     */
+    public void put(String code, Quote data) {
+        cache.put(code, new CachedQuote(data, System.currentTimeMillis()));
+
+        if (cache.size() > maxSize) {
+            evict();
+        }
+    }
+
+    /**
+     * 캐시 조회 후 없으면 loader로 가져오기
+     * 같은 종목을 이미 다른 스레드가 조회 중이면 그 결과를 기다려 함께 사용
+     */
+    public Quote getOrLoad(String code, Callable<Quote> loader) throws Exception {
+        Quote cached = get(code);
+        if (cached != null) {
+            return cached;
+        }
+
+        CompletableFuture<Quote> pending = new CompletableFuture<>();
+        CompletableFuture<Quote> existing = inFlight.putIfAbsent(code, pending);
+        if (existing != null) {
+            coalesced.incrementAndGet();
+            return await(existing);
+        }
+
+        try {
+            Quote data = peek(code);
+            if (data == null) {
+                data = loader.call();
+                put(code, data);
+            }
+            pending.complete(data);
+            return data;
+        } catch (Exception e) {
+            pending.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(code, pending);
+        }
+    }
+
+    /**
+     * getOrLoad의 비동기 버전
+     * 반환된 future는 호출자별 사본이라 타임아웃/취소가 다른 호출자에게 영향을 주지 않음
+     */
+    public CompletableFuture<Quote> getOrLoadAsync(String code, Supplier<CompletableFuture<Quote>> loader) {
+        Quote cached = get(code);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+
+        CompletableFuture<Quote> pending = new CompletableFuture<>();
+        CompletableFuture<Quote> existing = inFlight.putIfAbsent(code, pending);
+        if (existing != null) {
+            coalesced.incrementAndGet();
+            return existing.copy();
+        }
+
+        CompletableFuture<Quote> load;
+        try {
+            load = loader.get();
+        } catch (RuntimeException e) {
+            load = CompletableFuture.failedFuture(e);
+        }
+
+        load.whenComplete((data, error) -> {
+            if (error == null) {
+                put(code, data);
+                pending.complete(data);
+            } else {
+                pending.completeExceptionally(error);
+            }
+            inFlight.remove(code, pending);
+        });
+
+        return pending.copy();
+    }
+
+    /**
+     * 여러 종목 일괄 조회 (캐시 -> 조회 중인 요청 공유 -> batchLoader)
+     * batchLoader는 캐시에도 없고 조회 중도 아닌 종목만 받아 호출한 스레드에서 실행
+     * 다른 스레드가 조회 중인 종목은 기다리지 않고 그 요청이 끝날 때 결과에 합침
+     * (조회 스레드 풀 안에서 불러도 풀 스레드끼리 서로 기다리며 막히지 않음)
+     * 조회에 실패한 종목은 결과에서 빠짐
+     */
+    public CompletableFuture<Map<String, Quote>> getOrLoadAll(Collection<String> codes,
+                                              Function<List<String>, Map<String, Quote>> batchLoader) {
+        Map<String, Quote> result = new HashMap<>();
+        Map<String, CompletableFuture<Quote>> waiting = new HashMap<>();
+        Map<String, CompletableFuture<Quote>> owned = new LinkedHashMap<>();
+
+        for (String code : new LinkedHashSet<>(codes)) {
+            Quote cached = get(code);
+            if (cached != null) {
+                result.put(code, cached);
+                continue;
+            }
+
+            CompletableFuture<Quote> pending = new CompletableFuture<>();
+            CompletableFuture<Quote> existing = inFlight.putIfAbsent(code, pending);
+            if (existing != null) {
+                coalesced.incrementAndGet();
+                waiting.put(code, existing);
+            } else {
+                owned.put(code, pending);
+            }
+        }
+
+        if (!owned.isEmpty()) {
+            Map<String, Quote> loaded = Map.of();
+            try {
+                loaded = batchLoader.apply(new ArrayList<>(owned.keySet()));
+            } finally {
+                for (Map.Entry<String, CompletableFuture<Quote>> entry : owned.entrySet()) {
+                    String code = entry.getKey();
+                    Quote data = loaded.get(code);
+                    if (data != null) {
+                        put(code, data);
+                        result.put(code, data);
+                        entry.getValue().complete(data);
+                    } else {
+                        entry.getValue().completeExceptionally(
+                                new IllegalStateException("시세 데이터 없음: " + code));
+                    }
+                    inFlight.remove(code, entry.getValue());
+                }
+            }
+        }
+
+        if (waiting.isEmpty()) {
+            return CompletableFuture.completedFuture(result);
+        }
+
+        // 공유한 요청이 실패한 종목은 제외
+        Map<String, CompletableFuture<Quote>> shared = new HashMap<>();
+        waiting.forEach((code, future) -> shared.put(code, future.handle((data, e) -> e == null ? data : null)));
+
+        return CompletableFuture.allOf(shared.values().toArray(new CompletableFuture[0]))
+                .thenApply(done -> {
+                    shared.forEach((code, future) -> {
+                        Quote data = future.join();  // 이미 끝난 future
+                        if (data != null) {
+                            result.put(code, data);
+                        }
+                    });
+                    return result;
+                });
+    }
+
+    private Quote peek(String code) {
+        CachedQuote cached = cache.get(code);
+        return cached == null || isExpired(cached, System.currentTimeMillis()) ? null : cached.data;
+    }
+
+    private Quote await(CompletableFuture<Quote> future) throws Exception {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof Exception) {
+                throw (Exception) cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * 만료된 항목을 먼저 지우고, 그래도 넘치면 오래된 순으로 정리
+     */
+    private void evict() {
+        if (!evictionLock.tryLock()) {
+            return; // 다른 스레드가 정리 중
+        }
+
+        try {
+            long now = System.currentTimeMillis();
+            cache.entrySet().removeIf(entry -> {
+                boolean expired = isExpired(entry.getValue(), now);
+                if (expired) evictions.incrementAndGet();
+                return expired;
+            });
+
+            if (cache.size() <= maxSize) {
+                return;
+            }
+
+            // 10% 여유를 두고 오래된 항목부터 제거
+            int target = maxSize - maxSize / 10;
+            List<Map.Entry<String, CachedQuote>> entries = new ArrayList<>(cache.entrySet());
+            entries.sort((a, b) -> Long.compare(a.getValue().fetchedAt, b.getValue().fetchedAt));
+
+            for (Map.Entry<String, CachedQuote> entry : entries) {
+                if (cache.size() <= target) break;
+                if (cache.remove(entry.getKey(), entry.getValue())) {
+                    evictions.incrementAndGet();
+                }
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    private boolean isExpired(CachedQuote cached, long now) {
+        return now - cached.fetchedAt >= ttlMillis;
+    }
+
+    /**
+     * 캐시 비우기
+     */
+    public void clear() {
+        cache.clear();
+    }
+
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    /**
+     * 캐시 통계 (진단용)
+     */
+    public String getStats() {
+        long hitCount = hits.get();
+        long total = hitCount + misses.get();
+        double hitRate = total == 0 ? 0 : (double) hitCount / total * 100;
+
+        return String.format(
+                "   └ 저장: %,d / %,d개 (TTL %,dms)\n" +
+                        "   └ 적중: %,d / %,d (%.1f%%)\n" +
+                        "   └ 중복 요청 합침: %,d회 (조회 중 %,d개)\n" +
+                        "   └ 제거: %,d개",
+                cache.size(), maxSize, ttlMillis,
+                hitCount, total, hitRate,
+                coalesced.get(), inFlight.size(),
+                evictions.get()
+        );
+    }
+}
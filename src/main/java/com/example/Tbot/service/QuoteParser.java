@@ -0,0 +1,104 @@
+package com.example.Tbot.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 네이버 실시간 시세 응답 파서
+ * 트리를 만들지 않고 스트리밍으로 result.areas[].datas[] 의 필요한 필드만 읽음
+ */
+public class QuoteParser {
+
+    private final JsonFactory jsonFactory = new JsonFactory();
+
+    /**
+     * 응답 전체를 시세 목록으로 변환
+     */
+    public List<Quote> parse(String json) throws IOException {
+        List<Quote> quotes = new ArrayList<>();
+        long now = System.currentTimeMillis();
+
+        try (JsonParser parser = jsonFactory.createParser(json)) {
+            JsonToken token;
+            while ((token = parser.nextToken()) != null) {
+                if (token != JsonToken.FIELD_NAME || !"datas".equals(parser.currentName())) {
+                    continue;
+                }
+
+                if (parser.nextToken() != JsonToken.START_ARRAY) {
+                    parser.skipChildren();
+                    continue;
+                }
+
+                while (parser.nextToken() == JsonToken.START_OBJECT) {
+                    quotes.add(readQuote(parser, now));
+                }
+            }
+        }
+
+        return quotes;
+    }
+
+    /**
+     * 응답의 첫 번째 시세 (없으면 null)
+     */
+    public Quote parseFirst(String json) throws IOException {
+        List<Quote> quotes = parse(json);
+        return quotes.isEmpty() ? null : quotes.get(0);
+    }
+
+    private Quote readQuote(JsonParser parser, long timestamp) throws IOException {
+        String code = null;
+        String name = null;
+        double price = 0;
+        double change = 0;
+        double changeRate = 0;
+        long volume = 0;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+
+            switch (field) {
+                case "cd" -> code = parser.getText();
+                case "nm" -> name = parser.getText();
+                case "nv" -> price = readNumber(parser, value);
+                case "cv" -> change = readNumber(parser, value);
+                case "cr" -> changeRate = readNumber(parser, value);
+                case "aq" -> volume = (long) readNumber(parser, value);
+                default -> parser.skipChildren();
+            }
+        }
+
+        return new Quote(code, name, price, change, changeRate, volume, timestamp);
+    }
+
+    /**
+     * 숫자 또는 "71,500" 같은 문자열 숫자 읽기
+     */
+    private double readNumber(JsonParser parser, JsonToken value) throws IOException {
+        if (value == JsonToken.VALUE_NUMBER_INT || value == JsonToken.VALUE_NUMBER_FLOAT) {
+            return parser.getDoubleValue();
+        }
+        if (value == JsonToken.VALUE_STRING) {
+            String text = parser.getText();
+            StringBuilder digits = new StringBuilder(text.length());
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                if (c != ',') digits.append(c);
+            }
+            try {
+                return digits.length() == 0 ? 0 : Double.parseDouble(digits.toString());
+            } catch (NumberFormatException e) {
+                return 0;
+            }
+        }
+        parser.skipChildren();
+        return 0;
+    }
+}
@@ -0,0 +1,162 @@
+package com.example.Tbot.service;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * 시세 틱 버스 (프로세스 내부, 링 버퍼)
+ * 폴러 하나가 시세를 올리고, 구독자(알림, 모니터링 등)는 각자 스레드에서 자기 위치부터 읽음
+ * - 생산자는 구독자를 기다리지 않음: 링이 한 바퀴 돌아 덮어쓴 틱은 느린 구독자에게서 버림 (건너뛴 수 집계)
+ * - 구독자별 밀린 양은 링 크기까지로 제한
+ */
+@Component
+public class QuoteTickBus {
+
+    // 구독자가 할 일이 없을 때 다시 확인하는 간격 (발행 시에는 바로 깨움)
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final Quote[] ring;
+    private final int mask;
+
+    // 쓰기 시작한 마지막 순번 / 다 쓴 마지막 순번 (발행은 폴러 스레드 하나만)
+    private final AtomicLong claimed = new AtomicLong(-1);
+    private volatile long published = -1;
+
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+
+    public QuoteTickBus(@Value("${stock.tick-bus.capacity:4096}") int capacity) {
+        // capacity 이상인 가장 작은 2의 거듭제곱 (최소 16)
+        int size = capacity <= 16 ? 16 : Integer.highestOneBit(capacity - 1) << 1;
+        this.ring = new Quote[size];
+        this.mask = size - 1;
+    }
+
+    /**
+     * 구독 등록 (전용 스레드 시작, 등록 이후 발행된 틱부터 전달)
+     * handler는 한 번에 쌓인 틱을 묶어서 받음
+     */
+    public void subscribe(String name, Consumer<List<Quote>> handler) {
+        Subscriber subscriber = new Subscriber(name, handler, published + 1);
+        subscribers.add(subscriber);
+        subscriber.thread.start();
+        System.out.println("📡 시세 버스 구독: " + name);
+    }
+
+    /**
+     * 시세 발행 (폴러 스레드 전용, 구독자를 기다리지 않음)
+     */
+    void publish(List<Quote> quotes) {
+        if (quotes.isEmpty()) return;
+
+        long sequence = published;
+        for (Quote quote : quotes) {
+            sequence = claimed.incrementAndGet();
+            ring[(int) sequence & mask] = quote;
+        }
+        published = sequence;
+
+        for (Subscriber subscriber : subscribers) {
+            LockSupport.unpark(subscriber.thread);
+        }
+    }
+
+    /**
+     * 구독자별 상태 (예: "alert 밀림 0, 건너뜀 0")
+     */
+    public String describe() {
+        List<String> parts = new ArrayList<>();
+        for (Subscriber subscriber : subscribers) {
+            parts.add(subscriber.name + " 밀림 " + Math.max(0, published - subscriber.cursor + 1) +
+                    ", 건너뜀 " + subscriber.dropped.get());
+        }
+        return parts.isEmpty() ? "구독자 없음" : String.join(" / ", parts);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.running = false;
+            LockSupport.unpark(subscriber.thread);
+        }
+    }
+
+    private final class Subscriber implements Runnable {
+        final String name;
+        final Consumer<List<Quote>> handler;
+        final Thread thread;
+        final AtomicLong dropped = new AtomicLong();
+
+        // 다음에 읽을 순번 (구독자 스레드만 씀)
+        volatile long cursor;
+        volatile boolean running = true;
+
+        Subscriber(String name, Consumer<List<Quote>> handler, long cursor) {
+            this.name = name;
+            this.handler = handler;
+            this.cursor = cursor;
+            this.thread = new Thread(this, "tick-" + name);
+            this.thread.setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            while (running) {
+                List<Quote> batch = drain();
+                if (batch.isEmpty()) {
+                    LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                    continue;
+                }
+                try {
+                    handler.accept(batch);
+                } catch (Throwable e) {
+                    // 어떤 오류든 구독 스레드는 살려 둠 (죽으면 describe에는 남은 채 틱을 영영 못 받음)
+                    System.err.println("❌ 시세 버스 구독자 오류 (" + name + ")");
+                    e.printStackTrace();
+                }
+            }
+        }
+
+        /**
+         * 발행된 틱을 최대 링 크기만큼 꺼냄 (덮어써진 틱은 건너뜀)
+         */
+        private List<Quote> drain() {
+            long last = published;
+            long next = cursor;
+            if (next > last) {
+                return List.of();
+            }
+
+            // 한 바퀴 이상 밀렸으면 남아 있는 가장 오래된 틱부터
+            long oldest = last - mask;
+            if (next < oldest) {
+                dropped.addAndGet(oldest - next);
+                next = oldest;
+            }
+
+            List<Quote> batch = new ArrayList<>((int) (last - next + 1));
+            for (long sequence = next; sequence <= last; sequence++) {
+                batch.add(ring[(int) sequence & mask]);
+            }
+
+            // 읽는 동안 생산자가 덮어쓴 칸은 버림
+            long overwritten = claimed.get() - mask - next;
+            if (overwritten > 0) {
+                int skip = (int) Math.min(overwritten, batch.size());
+                dropped.addAndGet(skip);
+                batch = batch.subList(skip, batch.size());
+            }
+
+            cursor = last + 1;
+            return batch;
+        }
+    }
+}
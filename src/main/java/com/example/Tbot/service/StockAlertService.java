@@ -2,114 +2,411 @@ package com.example.Tbot.service;
 
 import com.example.Tbot.telegram.TbotTelegram;
 import org.springframework.context.annotation.Lazy;
-import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 /**
  * 실시간 주식 알림 서비스 (포트폴리오 정보 포함)
- * 10초마다 가격 체크하여 변동 시 알림
+ * MarketDataPoller가 발행한 시세 틱을 받아 가격 변동 시 알림 (시세 조회는 폴러가 모니터링과 함께 한 번만)
+ * 종목 코드별 구독자 목록을 두고, 종목마다 받은 시세를 구독자에게 나눠 보냄
+ * 조건 알림 (가격 도달, 등락률, 거래량)은 AlertRuleBook에서 발동한 규칙만 꺼내 전송
  */
 @Service
 public class StockAlertService {
 
     private final StockService stockService;
     private final TbotTelegram telegram;
+    private final MarketDataPoller poller;
 
-    // 사용자별 구독 종목 저장 (chatId -> stockName)
-    private final Map<Long, String> subscriptions = new ConcurrentHashMap<>();
+    // 채팅당 최대 구독 종목 수
+    private static final int MAX_SYMBOLS_PER_CHAT = 20;
 
-    // 종목별 전체 정보 저장 (비교용)
-    private final Map<String, String> previousInfos = new ConcurrentHashMap<>();
+    // 채팅당 최대 조건 알림 수 (모든 규칙이 시세마다 판단됨)
+    private static final int MAX_RULES_PER_CHAT = 30;
 
-    public StockAlertService(StockService stockService, @Lazy TbotTelegram telegram) {
+    // 구독 목록 (chatId <-> 종목 번호, 양방향)
+    private final ChatSymbolIndex subscriptions = new ChatSymbolIndex();
+
+    // 종목별 마지막 가격/거래량/조회 시각 (변동 비교용, 숫자로만 비교)
+    private final LastTickTable lastTicks = new LastTickTable();
+
+    // 조건 알림 규칙
+    private final AlertRuleBook ruleBook = new AlertRuleBook(MAX_RULES_PER_CHAT);
+
+    // 조건 형식: >=75000, <=70000, +5%, -3%, vol>=1000000
+    private static final Pattern PRICE_RULE = Pattern.compile("^(>=|<=)([\\d,]+(?:\\.\\d+)?)$");
+    private static final Pattern RATE_RULE = Pattern.compile("^([+-])(\\d+(?:\\.\\d+)?)%$");
+    private static final Pattern VOLUME_RULE = Pattern.compile("^(?i)vol>=([\\d,]+)$");
+    private static final Pattern REARM = Pattern.compile("^(\\d+(?:\\.\\d+)?)%?$");
+
+    public StockAlertService(StockService stockService, @Lazy TbotTelegram telegram,
+                             MarketDataPoller poller, QuoteTickBus tickBus) {
         this.stockService = stockService;
         this.telegram = telegram;
+        this.poller = poller;
+
+        poller.addWatcher("alert", this::watchedSymbols, this::watcherCount);
+        tickBus.subscribe("alert", this::onTicks);
     }
 
     /**
-     * 주식 알림 구독
+     * 주식 알림 구독 (채팅당 여러 종목)
+     * 초기 시세는 비동기로 조회해서 응답에 붙임 (명령 처리 스레드는 기다리지 않음)
      */
-    public String subscribe(Long chatId, String stockName) {
-        subscriptions.put(chatId, stockName);
+    public CompletableFuture<String> subscribe(Long chatId, String stockName) {
+        StockService.StockInfo stockInfo = stockService.resolveStock(stockName);
+        if (stockInfo == null) {
+            return CompletableFuture.completedFuture("❌ '" + stockName + "' 종목을 찾을 수 없습니다.\n\n" +
+                    "💡 종목 검색하기:\n/search " + stockName);
+        }
+
+        int symbolId = SymbolTable.parseCode(stockInfo.code);
+        // 이미 알림 중인 종목이면 최대 개수보다 그 안내가 먼저
+        if (subscriptions.contains(chatId, symbolId)) {
+            return CompletableFuture.completedFuture(alreadySubscribed(stockInfo.name));
+        }
+        if (subscriptions.symbolsOf(chatId).length >= MAX_SYMBOLS_PER_CHAT) {
+            return CompletableFuture.completedFuture(
+                    "❌ 알림은 최대 " + MAX_SYMBOLS_PER_CHAT + "개 종목까지 설정할 수 있습니다.\n\n" +
+                    "💡 목록 보기: /alert list\n해제: /unalert <종목명>");
+        }
+        if (!subscriptions.add(chatId, symbolId)) {
+            return CompletableFuture.completedFuture(alreadySubscribed(stockInfo.name));
+        }
 
         // 초기 가격 저장 (포트폴리오 정보 포함)
-        try {
-            String initialInfo = stockService.getStockPrice(stockName, chatId);
-            previousInfos.put(stockName, initialInfo);
+        return stockService.getQuotesAsync(Set.of(stockInfo.code))
+                .thenApply(quotes -> {
+                    Quote quote = quotes.get(stockInfo.code);
+                    if (quote == null) {
+                        throw new IllegalStateException("시세 데이터 없음");
+                    }
+                    // 조회하는 사이 해제했으면 상태를 다시 만들지 않음
+                    if (subscriptions.contains(chatId, symbolId)) {
+                        lastTicks.seed(symbolId, quote.getPrice(), quote.getVolume(), quote.getTimestamp());
+                    }
 
-            return "✅ '" + stockName + "' 실시간 알림이 설정되었습니다.\n" +
-                    "10초마다 가격을 체크하여 변동 시 알림을 보냅니다.\n\n" +
-                    "현재 정보:\n" + initialInfo;
-        } catch (Exception e) {
-            return "✅ '" + stockName + "' 알림이 설정되었습니다.\n" +
-                    "(초기 정보 조회 실패: " + e.getMessage() + ")";
-        }
+                    return "✅ '" + stockInfo.name + "' 실시간 알림이 설정되었습니다. (총 " +
+                            subscriptions.symbolsOf(chatId).length + "개 종목)\n" +
+                            "변동이 큰 종목일수록 자주 가격을 체크하여 변동 시 알림을 보냅니다.\n\n" +
+                            "현재 정보:\n" + stockService.renderQuote(quote, chatId);
+                })
+                .exceptionally(e -> {
+                    Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                    return "✅ '" + stockInfo.name + "' 알림이 설정되었습니다.\n" +
+                            "(초기 정보 조회 실패: " + cause.getMessage() + ")";
+                });
     }
 
     /**
-     * 주식 알림 구독 취소
+     * 주식 알림 구독 취소 (전체)
      */
     public String unsubscribe(Long chatId) {
-        String stockName = subscriptions.remove(chatId);
-        if (stockName != null) {
-            return "❌ '" + stockName + "' 알림이 해제되었습니다.";
+        int[] removed = subscriptions.removeAll(chatId);
+        for (int symbolId : removed) {
+            forgetIfUnwatched(symbolId);
+        }
+        if (removed.length == 1) {
+            return "❌ '" + nameOf(removed[0]) + "' 알림이 해제되었습니다.";
+        }
+        if (removed.length > 1) {
+            return "❌ " + removed.length + "개 종목 알림이 해제되었습니다.";
         }
         return "❌ 구독 중인 종목이 없습니다.";
     }
 
     /**
-     * 10초마다 구독 종목 체크 및 알림 (포트폴리오 정보 포함)
+     * 주식 알림 구독 취소 (한 종목)
      */
-    @Scheduled(fixedRate = 10000) // 10초마다 실행
-    public void checkPriceChanges() {
-        if (subscriptions.isEmpty()) {
-            return;
+    public String unsubscribe(Long chatId, String stockName) {
+        StockService.StockInfo stockInfo = stockService.resolveStock(stockName);
+        if (stockInfo == null) {
+            return "❌ '" + stockName + "' 종목을 찾을 수 없습니다.";
         }
 
-        System.out.println("🔍 [" + new java.util.Date() + "] 주식 가격 체크 시작 - 구독자 수: " + subscriptions.size());
+        int symbolId = SymbolTable.parseCode(stockInfo.code);
+        if (!subscriptions.remove(chatId, symbolId)) {
+            return "❌ '" + stockInfo.name + "'은(는) 알림 중인 종목이 아닙니다.\n\n💡 목록 보기: /alert list";
+        }
+        forgetIfUnwatched(symbolId);
+        return "❌ '" + stockInfo.name + "' 알림이 해제되었습니다. (남은 종목 " +
+                subscriptions.symbolsOf(chatId).length + "개)";
+    }
 
-        subscriptions.forEach((chatId, stockName) -> {
-            try {
-                // 현재 주식 정보 조회 (포트폴리오 정보 포함)
-                String currentInfo = stockService.getStockPrice(stockName, chatId);
-                String previousInfo = previousInfos.get(stockName);
+    /**
+     * 알림 목록 (가격 변동 알림 + 조건 알림)
+     */
+    public String getAlertList(Long chatId) {
+        int[] symbols = subscriptions.symbolsOf(chatId);
+        List<AlertRuleBook.Rule> rules = ruleBook.rulesOf(chatId);
+        if (symbols.length == 0 && rules.isEmpty()) {
+            return "❌ 설정된 알림이 없습니다.\n\n💡 알림 추가: /alert <종목명>";
+        }
 
-                // 가격이 변경되었는지 확인
-                if (previousInfo == null || !currentInfo.equals(previousInfo)) {
+        StringBuilder sb = new StringBuilder("🔔 내 알림 목록\n\n");
+        if (symbols.length > 0) {
+            sb.append("📈 가격 변동 알림 (").append(symbols.length).append("개)\n");
+            for (int symbolId : symbols) {
+                sb.append("• ").append(nameOf(symbolId))
+                        .append(" (").append(SymbolTable.formatCode(symbolId)).append(")\n");
+            }
+            sb.append("\n");
+        }
+        if (!rules.isEmpty()) {
+            sb.append("🎯 조건 알림 (").append(rules.size()).append("개)\n");
+            for (AlertRuleBook.Rule rule : rules) {
+                sb.append("#").append(rule.id).append(" ")
+                        .append(rule.stockName).append(" ").append(rule.describe()).append("\n");
+            }
+            sb.append("\n");
+        }
+        sb.append("💡 해제: /unalert <종목명>, /unrule <번호>");
+        return sb.toString();
+    }
 
-                    // 가격 변동 알림 전송
-                    String alertMessage = buildAlertMessage(stockName, currentInfo, previousInfo);
-                    telegram.sendMessageToChat(chatId, alertMessage);
+    private void forgetIfUnwatched(int symbolId) {
+        if (subscriptions.chatsOf(symbolId).length == 0) {
+            lastTicks.remove(symbolId);
+        }
+    }
 
-                    // 이전 정보 업데이트
-                    previousInfos.put(stockName, currentInfo);
+    private String nameOf(int symbolId) {
+        String code = SymbolTable.formatCode(symbolId);
+        StockService.StockInfo stockInfo = stockService.resolveStock(code);
+        return stockInfo != null ? stockInfo.name : code;
+    }
 
-                    System.out.println("📤 알림 전송: " + stockName + " -> chatId: " + chatId);
-                } else {
-                    System.out.println("⏸️ 가격 변동 없음: " + stockName);
-                }
+    /**
+     * 조건 알림 명령인지 확인 (종목명 뒤에 조건이 붙은 경우)
+     */
+    public static boolean isRuleCommand(String args) {
+        String[] tokens = args.trim().split("\\s+");
+        for (int i = 1; i < tokens.length; i++) {
+            if (isCondition(tokens[i])) return true;
+        }
+        return false;
+    }
 
-            } catch (Exception e) {
-                System.err.println("❌ 알림 전송 오류 (" + stockName + "): " + e.getMessage());
+    private static boolean isCondition(String token) {
+        return PRICE_RULE.matcher(token).matches()
+                || RATE_RULE.matcher(token).matches()
+                || VOLUME_RULE.matcher(token).matches();
+    }
+
+    private static String alreadySubscribed(String stockName) {
+        return "📌 '" + stockName + "'은(는) 이미 알림 중입니다.\n\n💡 목록 보기: /alert list";
+    }
 
-                // 오류 발생 시 사용자에게 알림
-                telegram.sendMessageToChat(chatId,
-                        "⚠️ '" + stockName + "' 정보 조회 중 오류가 발생했습니다.\n" +
-                                "오류: " + e.getMessage());
+    /**
+     * 조건 알림 등록
+     * 예: 삼성전자 >=75000 / 삼성전자 -3% / 삼성전자 vol>=1000000 rearm 1%
+     */
+    public String addRule(Long chatId, String args) {
+        String[] tokens = args.trim().split("\\s+");
+
+        // 종목명 (조건 앞까지), 조건, 재무장 비율
+        int conditionAt = -1;
+        for (int i = 1; i < tokens.length; i++) {
+            if (isCondition(tokens[i])) {
+                conditionAt = i;
+                break;
             }
-        });
+        }
+        if (conditionAt < 0) {
+            return ruleUsage();
+        }
+
+        double rearmPercent = 0;
+        if (conditionAt + 1 < tokens.length) {
+            Matcher rearm = conditionAt + 2 < tokens.length && tokens[conditionAt + 1].equalsIgnoreCase("rearm")
+                    ? REARM.matcher(tokens[conditionAt + 2])
+                    : null;
+            if (rearm == null || !rearm.matches() || conditionAt + 3 < tokens.length) {
+                return ruleUsage();
+            }
+            rearmPercent = Double.parseDouble(rearm.group(1));
+        }
+
+        String stockName = String.join(" ", Arrays.copyOfRange(tokens, 0, conditionAt));
+        StockService.StockInfo stockInfo = stockService.resolveStock(stockName);
+        if (stockInfo == null) {
+            return "❌ '" + stockName + "' 종목을 찾을 수 없습니다.\n\n" +
+                    "💡 종목 검색하기:\n/search " + stockName;
+        }
+
+        String condition = tokens[conditionAt];
+        AlertRuleBook.Rule rule;
+        Matcher m;
+        if ((m = PRICE_RULE.matcher(condition)).matches()) {
+            rule = ruleBook.add(chatId, stockInfo.code, stockInfo.name, AlertRuleBook.Metric.PRICE,
+                    m.group(1).equals(">="), Double.parseDouble(m.group(2).replace(",", "")), rearmPercent);
+        } else if ((m = RATE_RULE.matcher(condition)).matches()) {
+            boolean up = m.group(1).equals("+");
+            double rate = Double.parseDouble(m.group(2));
+            rule = ruleBook.add(chatId, stockInfo.code, stockInfo.name, AlertRuleBook.Metric.CHANGE_RATE,
+                    up, up ? rate : -rate, rearmPercent);
+        } else if ((m = VOLUME_RULE.matcher(condition)).matches()) {
+            rule = ruleBook.add(chatId, stockInfo.code, stockInfo.name, AlertRuleBook.Metric.VOLUME,
+                    true, Double.parseDouble(m.group(1).replace(",", "")), rearmPercent);
+        } else {
+            return ruleUsage();
+        }
+        if (rule == null) {
+            return "❌ 조건 알림은 최대 " + MAX_RULES_PER_CHAT + "개까지 설정할 수 있습니다.\n\n" +
+                    "💡 목록 보기: /rules\n삭제: /unrule <번호>";
+        }
+
+        return "✅ 조건 알림 #" + rule.id + " 등록\n\n" +
+                "• " + stockInfo.name + " " + rule.describe() + "\n" +
+                (rule.rearms()
+                        ? "• 발동 후 " + formatRearm(rule) + " 되돌아오면 다시 알림\n"
+                        : "• 한 번 알림 후 자동 해제\n") +
+                "\n⏱️ 체크 주기: 종목별 자동 조정";
+    }
 
-        System.out.println("✅ 주식 가격 체크 완료\n");
+    /**
+     * 조건 알림 목록
+     */
+    public String getRules(Long chatId) {
+        List<AlertRuleBook.Rule> rules = ruleBook.rulesOf(chatId);
+        if (rules.isEmpty()) {
+            return "❌ 등록된 조건 알림이 없습니다.\n\n" + ruleUsage();
+        }
+
+        StringBuilder sb = new StringBuilder("🎯 조건 알림 목록\n\n");
+        for (AlertRuleBook.Rule rule : rules) {
+            sb.append("#").append(rule.id).append(" ")
+                    .append(rule.stockName).append(" ").append(rule.describe());
+            if (rule.rearms()) {
+                sb.append(" (재알림 ").append(formatRearm(rule)).append(")");
+            }
+            sb.append("\n");
+        }
+        sb.append("\n💡 삭제: /unrule <번호>");
+        return sb.toString();
+    }
+
+    /**
+     * 조건 알림 삭제
+     */
+    public String removeRule(Long chatId, int ruleId) {
+        AlertRuleBook.Rule rule = ruleBook.remove(chatId, ruleId);
+        if (rule == null) {
+            return "❌ #" + ruleId + " 조건 알림이 없습니다.";
+        }
+        return "❌ 조건 알림 #" + rule.id + " 해제: " + rule.stockName + " " + rule.describe();
+    }
+
+    /**
+     * 조건 알림 전체 삭제 (삭제한 개수 반환)
+     */
+    public int removeAllRules(Long chatId) {
+        return ruleBook.removeAll(chatId);
+    }
+
+    private String formatRearm(AlertRuleBook.Rule rule) {
+        return rule.metric == AlertRuleBook.Metric.CHANGE_RATE
+                ? String.format("%.2f%%p", rule.rearmPercent)
+                : String.format("%.2f%%", rule.rearmPercent);
+    }
+
+    private static String ruleUsage() {
+        return "💡 조건 알림 사용법\n" +
+                "/alert 삼성전자 >=75000 → 75,000원 이상\n" +
+                "/alert 삼성전자 <=70000 → 70,000원 이하\n" +
+                "/alert 삼성전자 +5% → 등락률 +5% 이상\n" +
+                "/alert 삼성전자 -3% → 등락률 -3% 이하\n" +
+                "/alert 삼성전자 vol>=1000000 → 거래량 100만주 이상\n" +
+                "뒤에 'rearm 1%'를 붙이면 1% 되돌아온 뒤 다시 알림";
+    }
+
+    /**
+     * 시세 틱 처리 (조건 알림 + 가격 변동 알림, 포트폴리오 정보 포함)
+     * 시세 버스 구독 스레드에서 실행 (폴러는 기다리지 않음)
+     */
+    private void onTicks(List<Quote> ticks) {
+        Set<String> ruleCodes = ruleBook.codes();
+        for (Quote quote : ticks) {
+            // 조건 알림 (기준을 넘어선 규칙만)
+            if (ruleCodes.contains(quote.getCode())) {
+                ruleBook.evaluate(quote).forEach(rule -> sendRuleAlert(rule, quote));
+            }
+
+            int symbolId = SymbolTable.parseCode(quote.getCode());
+            long[] chatIds = subscriptions.chatsOf(symbolId);
+            if (chatIds.length == 0) {
+                continue;
+            }
+
+            // 가격이 변경되었는지 확인 (이미 본 시세나 거래량만 바뀐 경우는 건너뜀)
+            int change = lastTicks.observe(symbolId, quote.getPrice(), quote.getVolume(), quote.getTimestamp());
+            if (change != LastTickTable.PRICE && change != LastTickTable.FIRST) {
+                continue;
+            }
+
+            // 알림이 나갈 때만 메시지 생성 (시세 부분은 한 번, 포트폴리오 수익만 구독자별로)
+            String alertMessage = buildAlertMessage(quote.getName(),
+                    stockService.renderQuote(quote, null), change == LastTickTable.FIRST);
+            for (long chatId : chatIds) {
+                try {
+                    telegram.sendMessageToChat(chatId, alertMessage + stockService.renderProfit(quote, chatId));
+
+                    System.out.println("📤 알림 전송: " + quote.getName() + " -> chatId: " + chatId);
+                } catch (Exception e) {
+                    System.err.println("❌ 알림 전송 오류 (" + quote.getName() + "): " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * 지켜보는 종목 (구독 종목 + 조건 알림 종목)
+     */
+    private Set<Integer> watchedSymbols() {
+        Set<Integer> watched = new HashSet<>(subscriptions.symbols());
+        for (String code : ruleBook.codes()) {
+            watched.add(SymbolTable.parseCode(code));
+        }
+        return watched;
+    }
+
+    /**
+     * 종목을 지켜보는 수 (구독자 + 조건 알림이 있으면 1)
+     */
+    private int watcherCount(int symbolId) {
+        return subscriptions.chatsOf(symbolId).length
+                + (ruleBook.codes().contains(SymbolTable.formatCode(symbolId)) ? 1 : 0);
+    }
+
+    private void sendRuleAlert(AlertRuleBook.Rule rule, Quote quote) {
+        try {
+            String message = "🎯 " + rule.stockName + " 조건 도달! (#" + rule.id + ")\n" +
+                    "• " + rule.describe() + "\n\n" +
+                    stockService.renderQuote(quote, rule.chatId) + "\n\n" +
+                    (rule.rearms()
+                            ? "🔁 " + formatRearm(rule) + " 되돌아오면 다시 알림"
+                            : "⏹️ 조건 알림이 자동 해제되었습니다");
+            telegram.sendMessageToChat(rule.chatId, message);
+
+            System.out.println("📤 조건 알림 전송: #" + rule.id + " " + rule.stockName + " -> chatId: " + rule.chatId);
+        } catch (Exception e) {
+            System.err.println("❌ 조건 알림 전송 오류 (#" + rule.id + "): " + e.getMessage());
+        }
     }
 
     /**
      * 알림 메시지 생성
      */
-    private String buildAlertMessage(String stockName, String currentInfo, String previousInfo) {
-        if (previousInfo == null) {
+    private String buildAlertMessage(String stockName, String currentInfo, boolean first) {
+        if (first) {
             return "🔔 " + stockName + " 실시간 알림 시작\n\n" + currentInfo;
         } else {
             return "🔔 " + stockName + " 가격 변동 알림!\n\n" + currentInfo;
@@ -120,18 +417,23 @@ public class StockAlertService {
      * 현재 구독 상태 확인
      */
     public String getSubscriptionStatus(Long chatId) {
-        String stockName = subscriptions.get(chatId);
-        if (stockName != null) {
-            String currentInfo = previousInfos.get(stockName);
-
-            String status = "📌 현재 구독 중: " + stockName + "\n";
-            status += "⏱️ 체크 주기: 10초\n\n";
-
-            if (currentInfo != null) {
-                status += "마지막 확인 정보:\n" + currentInfo;
+        int[] symbols = subscriptions.symbolsOf(chatId);
+        if (symbols.length > 0) {
+            StringBuilder status = new StringBuilder("📌 현재 구독 중: ").append(symbols.length).append("개 종목\n");
+            for (int symbolId : symbols) {
+                double lastPrice = lastTicks.price(symbolId);
+                status.append("• ").append(nameOf(symbolId));
+                if (!Double.isNaN(lastPrice)) {
+                    status.append(String.format(" - 마지막 확인 %,.0f원 (%tT)", lastPrice, lastTicks.timestamp(symbolId)));
+                }
+                long interval = poller.intervalOf(symbolId);
+                if (interval > 0) {
+                    status.append(String.format(", 조회 간격 %.1f초", interval / 1000.0));
+                }
+                status.append("\n");
             }
-
-            return status;
+            status.append("⏱️ 체크 주기: 종목별 변동성에 따라 자동 조정");
+            return status.toString();
         }
         return "❌ 구독 중인 종목이 없습니다.";
     }
@@ -145,12 +447,14 @@ public class StockAlertService {
         }
 
         StringBuilder sb = new StringBuilder("📊 전체 구독 현황\n\n");
-        subscriptions.forEach((chatId, stockName) -> {
-            sb.append("• ChatID: ").append(chatId)
-                    .append(" → ").append(stockName)
-                    .append("\n");
+        subscriptions.forEach((symbols, chatId) -> {
+            sb.append("• ChatID: ").append(chatId).append(" →");
+            for (int symbolId : symbols) {
+                sb.append(" ").append(nameOf(symbolId));
+            }
+            sb.append("\n");
         });
 
         return sb.toString();
     }
-}
\ No newline at end of file
+}
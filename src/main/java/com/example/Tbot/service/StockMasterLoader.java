@@ -0,0 +1,174 @@
+package com.example.Tbot.service;
+
+import com.example.Tbot.config.JobScheduler;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * 종목 마스터 로더
+ * 시작 시 마스터 파일을 읽고, 파일이 바뀌면 새 테이블을 만들어 한 번에 교체 (조회는 막지 않음)
+ */
+@Service
+public class StockMasterLoader {
+
+    private static final String CLASSPATH_MASTER = "stocks/krx-master.tsv";
+
+    // 외부 마스터 파일 경로 (비어 있으면 내장 파일 사용)
+    private final String masterPath;
+
+    private volatile SymbolTable table;
+
+    // 마지막으로 읽은 파일 상태
+    private volatile long loadedModified = -1;
+    private volatile long loadedSize = -1;
+
+    // 교체 시 알림 받을 곳 (검색 인덱스 등)
+    private final List<Consumer<SymbolTable>> listeners = new CopyOnWriteArrayList<>();
+
+    public StockMasterLoader(@Value("${stock.master.path:}") String masterPath,
+                             @Value("${stock.master.reload-interval-ms:30000}") long reloadIntervalMs,
+                             JobScheduler jobScheduler) {
+        this.masterPath = masterPath;
+        this.table = loadInitial();
+
+        if (!masterPath.isBlank()) {
+            jobScheduler.schedule("master-reload", reloadIntervalMs, reloadIntervalMs, this::reloadIfChanged);
+        }
+    }
+
+    /**
+     * 현재 종목 테이블
+     */
+    public SymbolTable getTable() {
+        return table;
+    }
+
+    /**
+     * 테이블 교체 알림 등록 (등록 즉시 현재 테이블로 한 번 호출)
+     */
+    public void addListener(Consumer<SymbolTable> listener) {
+        listeners.add(listener);
+        listener.accept(table);
+    }
+
+    /**
+     * 외부 마스터 파일 변경 확인 (stock.master.reload-interval-ms마다)
+     */
+    public void reloadIfChanged() {
+        if (masterPath.isBlank()) {
+            return;
+        }
+
+        Path path = Path.of(masterPath);
+        try {
+            long modified = Files.getLastModifiedTime(path).toMillis();
+            long size = Files.size(path);
+            if (modified == loadedModified && size == loadedSize) {
+                return;
+            }
+
+            SymbolTable reloaded = loadFile(path);
+            loadedModified = modified;
+            loadedSize = size;
+            swap(reloaded);
+
+        } catch (Exception e) {
+            System.err.println("❌ 종목 마스터 재로딩 실패: " + e.getMessage() + " (기존 테이블 유지)");
+        }
+    }
+
+    private void swap(SymbolTable reloaded) {
+        table = reloaded;
+        System.out.println("🔁 종목 마스터 교체: " + reloaded.size() + "개 종목");
+
+        for (Consumer<SymbolTable> listener : listeners) {
+            try {
+                listener.accept(reloaded);
+            } catch (Exception e) {
+                System.err.println("❌ 종목 마스터 교체 알림 실패: " + e.getMessage());
+            }
+        }
+    }
+
+    private SymbolTable loadInitial() {
+        if (!masterPath.isBlank()) {
+            Path path = Path.of(masterPath);
+            try {
+                SymbolTable loaded = loadFile(path);
+                loadedModified = Files.getLastModifiedTime(path).toMillis();
+                loadedSize = Files.size(path);
+                return loaded;
+            } catch (Exception e) {
+                System.err.println("❌ 종목 마스터 파일 로딩 실패: " + masterPath + " - " + e.getMessage() +
+                        " (내장 파일 사용)");
+            }
+        }
+
+        try (InputStream in = StockMasterLoader.class.getClassLoader().getResourceAsStream(CLASSPATH_MASTER)) {
+            if (in == null) {
+                throw new IllegalStateException("내장 종목 마스터 없음: " + CLASSPATH_MASTER);
+            }
+            return load(new InputStreamReader(in, StandardCharsets.UTF_8), CLASSPATH_MASTER);
+        } catch (IOException e) {
+            throw new IllegalStateException("내장 종목 마스터 로딩 실패", e);
+        }
+    }
+
+    private SymbolTable loadFile(Path path) throws IOException {
+        try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            return load(reader, path.toString());
+        }
+    }
+
+    /**
+     * 탭 구분 파일 읽기: 코드, 종목명, 시장, 업종, 별칭(쉼표 구분), 주요종목(Y/N)
+     * '#'으로 시작하는 줄과 빈 줄은 무시
+     */
+    static SymbolTable load(Reader source, String sourceName) throws IOException {
+        long start = System.nanoTime();
+        SymbolTable.Builder builder = new SymbolTable.Builder();
+
+        BufferedReader reader = source instanceof BufferedReader
+                ? (BufferedReader) source
+                : new BufferedReader(source);
+
+        String line;
+        int lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank() || line.startsWith("#")) continue;
+
+            String[] cols = line.split("\t", -1);
+            if (cols.length < 3) {
+                System.err.println("⚠️ 종목 마스터 형식 오류 (" + sourceName + ":" + lineNumber + ")");
+                continue;
+            }
+
+            try {
+                builder.add(cols[0], cols[1], cols[2],
+                        cols.length > 3 ? cols[3] : "",
+                        cols.length > 4 ? cols[4] : "",
+                        cols.length > 5 && "Y".equalsIgnoreCase(cols[5].trim()));
+            } catch (IllegalArgumentException e) {
+                System.err.println("⚠️ 종목 마스터 형식 오류 (" + sourceName + ":" + lineNumber + "): " + e.getMessage());
+            }
+        }
+
+        SymbolTable table = builder.build();
+        System.out.printf("📚 종목 마스터 로딩: %s - %d개 종목 (%.1fms)%n",
+                sourceName, table.size(), (System.nanoTime() - start) / 1_000_000.0);
+        return table;
+    }
+}
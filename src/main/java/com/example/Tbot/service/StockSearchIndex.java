@@ -0,0 +1,296 @@
+package com.example.Tbot.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 종목 검색 인덱스 (불변, 시작 시 한 번 생성)
+ * 이름/별칭/코드를 소문자로 미리 변환해 두고 정확/접두/부분 일치를 인덱스로 찾음
+ * 한글 이름은 초성("ㅅㅅㅈㅈ")과 로마자("samseongjeonja") 키도 함께 등록
+ */
+final class StockSearchIndex {
+
+    // 일치 등급 (낮을수록 우선)
+    private static final int EXACT = 0;
+    private static final int PREFIX = 1;
+    private static final int SUBSTRING = 2;
+
+    // 오타 검색 시 최대 방문 노드 수
+    private static final int FUZZY_MAX_VISITS = 20000;
+
+    private final SymbolTable table;
+
+    // 검색 키 (이름, 별칭, 코드, 초성, 로마자 - 소문자)와 키가 가리키는 종목 번호
+    private final String[] keys;
+    private final int[] symbols;
+
+    // 이 번호부터는 초성/로마자 키 (같은 등급이면 이름/별칭/코드 키가 우선)
+    private final int derivedFrom;
+
+    // 정확 일치 (키 -> 종목 번호)
+    private final Map<String, Integer> exact;
+
+    // 접두 일치 (키 정렬 순서의 키 번호)
+    private final int[] sortedIds;
+
+    // 부분 일치 (1글자/2글자 조각 -> 키 번호 목록)
+    private final Map<String, int[]> grams;
+
+    // 오타 허용 (종목 코드를 뺀 키의 BK-트리)
+    private final SymbolBkTree fuzzy;
+
+    private StockSearchIndex(SymbolTable table, String[] keys, int[] symbols, int derivedFrom) {
+        this.table = table;
+        this.keys = keys;
+        this.symbols = symbols;
+        this.derivedFrom = derivedFrom;
+
+        this.exact = new HashMap<>();
+        for (int id = 0; id < keys.length; id++) {
+            exact.putIfAbsent(keys[id], symbols[id]);
+        }
+
+        this.sortedIds = new int[keys.length];
+        Integer[] order = new Integer[keys.length];
+        for (int i = 0; i < order.length; i++) order[i] = i;
+        Arrays.sort(order, Comparator.comparing(id -> keys[id]));
+        for (int i = 0; i < order.length; i++) sortedIds[i] = order[i];
+
+        Map<String, List<Integer>> postings = new HashMap<>();
+        for (int id = 0; id < keys.length; id++) {
+            String key = keys[id];
+            for (int i = 0; i < key.length(); i++) {
+                addPosting(postings, key.substring(i, i + 1), id);
+                if (i + 1 < key.length()) {
+                    addPosting(postings, key.substring(i, i + 2), id);
+                }
+            }
+        }
+        this.grams = new HashMap<>();
+        postings.forEach((gram, ids) -> grams.put(gram, ids.stream().mapToInt(Integer::intValue).toArray()));
+
+        List<Integer> fuzzyIds = new ArrayList<>();
+        for (int id = 0; id < keys.length; id++) {
+            if (!keys[id].equalsIgnoreCase(table.code(symbols[id]))) {
+                fuzzyIds.add(id);
+            }
+        }
+        this.fuzzy = new SymbolBkTree(keys, fuzzyIds.stream().mapToInt(Integer::intValue).toArray());
+    }
+
+    private static void addPosting(Map<String, List<Integer>> postings, String gram, int id) {
+        List<Integer> ids = postings.computeIfAbsent(gram, g -> new ArrayList<>());
+        if (ids.isEmpty() || ids.get(ids.size() - 1) != id) {
+            ids.add(id);
+        }
+    }
+
+    /**
+     * 종목 테이블로 인덱스 생성
+     * 종목명 -> 별칭 -> 코드 -> 초성 -> 로마자 순으로 키 등록, 중복 키는 먼저 등록된 것 우선
+     */
+    static StockSearchIndex build(SymbolTable table) {
+        Map<String, Integer> entries = new LinkedHashMap<>();
+        for (int symbol = 0; symbol < table.size(); symbol++) {
+            entries.putIfAbsent(normalize(table.name(symbol)), symbol);
+        }
+        for (int alias = 0; alias < table.aliasCount(); alias++) {
+            entries.putIfAbsent(normalize(table.alias(alias)), table.aliasSymbol(alias));
+        }
+        for (int symbol = 0; symbol < table.size(); symbol++) {
+            entries.putIfAbsent(normalize(table.code(symbol)), symbol);
+        }
+        int derivedFrom = entries.size();
+
+        // 원래 키 목록을 복사해 두고 한글이 들어 있는 키만 변환
+        String[] direct = entries.keySet().toArray(new String[0]);
+        int[] directSymbols = entries.values().stream().mapToInt(Integer::intValue).toArray();
+        for (int i = 0; i < direct.length; i++) {
+            if (Hangul.containsSyllable(direct[i])) {
+                entries.putIfAbsent(Hangul.choseong(direct[i]), directSymbols[i]);
+            }
+        }
+        for (int i = 0; i < direct.length; i++) {
+            if (Hangul.containsSyllable(direct[i])) {
+                entries.putIfAbsent(Hangul.romanize(direct[i]), directSymbols[i]);
+            }
+        }
+
+        return new StockSearchIndex(table,
+                entries.keySet().toArray(new String[0]),
+                entries.values().stream().mapToInt(Integer::intValue).toArray(),
+                derivedFrom);
+    }
+
+    /**
+     * 인덱스를 만든 종목 테이블
+     */
+    SymbolTable table() {
+        return table;
+    }
+
+    /**
+     * 소문자 + 공백 제거 ("SK hynix" -> "skhynix")
+     */
+    static String normalize(String text) {
+        StringBuilder sb = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (!Character.isWhitespace(c)) {
+                sb.append(c);
+            }
+        }
+        return sb.toString().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * 종목 하나 찾기 (정확 일치 -> 접두/부분 일치 -> 종목명을 포함한 입력)
+     */
+    StockService.StockInfo find(String query) {
+        String q = normalize(query);
+        if (q.isEmpty()) return null;
+
+        Integer symbol = exact.get(q);
+        if (symbol != null) return table.info(symbol);
+
+        List<StockService.StockInfo> matches = search(q, 1);
+        if (!matches.isEmpty()) return matches.get(0);
+
+        // "삼성전자 주가"처럼 입력에 종목명이 들어 있는 경우 (긴 조각부터)
+        for (int length = q.length() - 1; length >= 2; length--) {
+            for (int start = 0; start + length <= q.length(); start++) {
+                symbol = exact.get(q.substring(start, start + length));
+                if (symbol != null) return table.info(symbol);
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * 순위별 검색 (정확 > 접두 > 부분 일치, 같은 등급은 이름/별칭 키 -> 초성/로마자 키 -> 짧은 키 순)
+     */
+    List<StockService.StockInfo> search(String query, int limit) {
+        String q = normalize(query);
+        if (q.isEmpty()) return List.of();
+
+        // 종목 번호별 최고 점수 (등급, 키 종류, 키 길이 순으로 비교)
+        Map<Integer, Integer> best = new LinkedHashMap<>();
+
+        // 접두 일치 (정확 일치 포함) - 정렬된 키에서 이진 탐색
+        int from = lowerBound(q);
+        for (int i = from; i < sortedIds.length && keys[sortedIds[i]].startsWith(q); i++) {
+            int id = sortedIds[i];
+            offer(best, id, keys[id].length() == q.length() ? EXACT : PREFIX);
+        }
+
+        // 부분 일치 - 조각 목록 교집합 후 확인
+        for (int id : candidates(q)) {
+            String key = keys[id];
+            if (!key.startsWith(q) && key.contains(q)) {
+                offer(best, id, SUBSTRING);
+            }
+        }
+
+        return best.entrySet().stream()
+                .sorted(Map.Entry.comparingByValue())
+                .limit(limit)
+                .map(e -> table.info(e.getKey()))
+                .toList();
+    }
+
+    private void offer(Map<Integer, Integer> best, int id, int rank) {
+        int kind = id < derivedFrom ? 0 : 1;
+        int score = (rank << 24) | (kind << 16) | Math.min(keys[id].length(), 0xFFFF);
+        best.merge(symbols[id], score, Math::min);
+    }
+
+    /**
+     * 오타 허용 검색 (예: "삼성즌자" -> 삼성전자)
+     * 편집 거리 -> 키 종류 -> 짧은 키 순, budgetNanos 안에 찾은 것만 반환
+     */
+    List<StockService.StockInfo> suggest(String query, int limit, long budgetNanos) {
+        String q = normalize(query);
+        int maxDistance = maxDistance(q.length());
+        if (maxDistance == 0) return List.of();
+
+        long deadline = System.nanoTime() + budgetNanos;
+        Map<Integer, Integer> best = new LinkedHashMap<>();
+        for (SymbolBkTree.Match match : fuzzy.search(q, maxDistance, FUZZY_MAX_VISITS, deadline)) {
+            int kind = match.keyId < derivedFrom ? 0 : 1;
+            int score = (match.distance << 24) | (kind << 16) | Math.min(keys[match.keyId].length(), 0xFFFF);
+            best.merge(symbols[match.keyId], score, Math::min);
+        }
+
+        return best.entrySet().stream()
+                .sorted(Map.Entry.comparingByValue())
+                .limit(limit)
+                .map(e -> table.info(e.getKey()))
+                .toList();
+    }
+
+    /**
+     * 검색어 길이별 허용 오타 수 (2글자 이하는 오타 검색 안 함)
+     */
+    private static int maxDistance(int length) {
+        if (length <= 2) return 0;
+        return length <= 5 ? 1 : 2;
+    }
+
+    private int lowerBound(String q) {
+        int low = 0;
+        int high = sortedIds.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (keys[sortedIds[mid]].compareTo(q) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * 검색어의 모든 조각을 포함하는 키 후보
+     */
+    private int[] candidates(String q) {
+        if (q.length() == 1) {
+            return grams.getOrDefault(q, new int[0]);
+        }
+
+        int[] result = null;
+        for (int i = 0; i + 2 <= q.length(); i++) {
+            int[] ids = grams.get(q.substring(i, i + 2));
+            if (ids == null) return new int[0];
+            result = result == null ? ids : intersect(result, ids);
+            if (result.length == 0) break;
+        }
+        return result;
+    }
+
+    private static int[] intersect(int[] a, int[] b) {
+        int[] out = new int[Math.min(a.length, b.length)];
+        int i = 0, j = 0, n = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) i++;
+            else if (a[i] > b[j]) j++;
+            else {
+                out[n++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(out, n);
+    }
+
+    int size() {
+        return keys.length;
+    }
+}
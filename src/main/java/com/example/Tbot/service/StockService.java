@@ -1,120 +1,53 @@
 package com.example.Tbot.service;
 
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 @Service
 public class StockService {
 
-    private final RestTemplate restTemplate = new RestTemplate();
+    private final RestTemplate restTemplate;
     private final ObjectMapper objectMapper = new ObjectMapper();
+    private final QuoteParser quoteParser = new QuoteParser();
     private final PortfolioService portfolioService;
     private final SearchResultCache searchResultCache;
+    private final QuoteCache quoteCache;
 
-    // 주요 종목 데이터베이스 (확장 가능)
-    private final Map<String, StockInfo> stockDatabase = new HashMap<>() {{
-        // 삼성 그룹
-        put("삼성전자", new StockInfo("005930", "삼성전자", "KOSPI"));
-        put("삼성바이오로직스", new StockInfo("207940", "삼성바이오로직스", "KOSPI"));
-        put("삼성SDI", new StockInfo("006400", "삼성SDI", "KOSPI"));
-        put("삼성물산", new StockInfo("028260", "삼성물산", "KOSPI"));
-        put("삼성전기", new StockInfo("009150", "삼성전기", "KOSPI"));
-        put("삼성생명", new StockInfo("032830", "삼성생명", "KOSPI"));
-        put("삼성화재", new StockInfo("000810", "삼성화재", "KOSPI"));
-
-        // SK 그룹
-        put("SK하이닉스", new StockInfo("000660", "SK하이닉스", "KOSPI"));
-        put("SK이노베이션", new StockInfo("096770", "SK이노베이션", "KOSPI"));
-        put("SK텔레콤", new StockInfo("017670", "SK텔레콤", "KOSPI"));
-        put("SK스퀘어", new StockInfo("402340", "SK스퀘어", "KOSPI"));
-        put("SK바이오팜", new StockInfo("326030", "SK바이오팜", "KOSPI"));
-
-        // 현대차 그룹
-        put("현대차", new StockInfo("005380", "현대차", "KOSPI"));
-        put("기아", new StockInfo("000270", "기아", "KOSPI"));
-        put("현대모비스", new StockInfo("012330", "현대모비스", "KOSPI"));
-        put("현대건설", new StockInfo("000720", "현대건설", "KOSPI"));
-        put("HD현대일렉트릭", new StockInfo("267260", "HD현대일렉트릭", "KOSPI"));
-        put("HD현대중공업", new StockInfo("329180", "HD현대중공업", "KOSPI"));
-
-        // LG 그룹
-        put("LG전자", new StockInfo("066570", "LG전자", "KOSPI"));
-        put("LG화학", new StockInfo("051910", "LG화학", "KOSPI"));
-        put("LG에너지솔루션", new StockInfo("373220", "LG에너지솔루션", "KOSPI"));
-        put("LG생활건강", new StockInfo("051900", "LG생활건강", "KOSPI"));
-        put("LG디스플레이", new StockInfo("034220", "LG디스플레이", "KOSPI"));
-
-        // IT/인터넷
-        put("네이버", new StockInfo("035420", "네이버", "KOSPI"));
-        put("카카오", new StockInfo("035720", "카카오", "KOSPI"));
-        put("카카오뱅크", new StockInfo("323410", "카카오뱅크", "KOSPI"));
-        put("카카오페이", new StockInfo("377300", "카카오페이", "KOSPI"));
-        put("엔씨소프트", new StockInfo("036570", "엔씨소프트", "KOSPI"));
-        put("넷마블", new StockInfo("251270", "넷마블", "KOSPI"));
-        put("크래프톤", new StockInfo("259960", "크래프톤", "KOSPI"));
-
-        // 금융
-        put("KB금융", new StockInfo("105560", "KB금융", "KOSPI"));
-        put("신한지주", new StockInfo("055550", "신한지주", "KOSPI"));
-        put("하나금융지주", new StockInfo("086790", "하나금융지주", "KOSPI"));
-        put("우리금융지주", new StockInfo("316140", "우리금융지주", "KOSPI"));
-
-        // 바이오/제약
-        put("셀트리온", new StockInfo("068270", "셀트리온", "KOSPI"));
-        put("삼성바이오로직스", new StockInfo("207940", "삼성바이오로직스", "KOSPI"));
-        put("셀트리온헬스케어", new StockInfo("091990", "셀트리온헬스케어", "KOSDAQ"));
-
-        // 2차전지/배터리
-        put("에코프로", new StockInfo("086520", "에코프로", "KOSDAQ"));
-        put("에코프로비엠", new StockInfo("247540", "에코프로비엠", "KOSDAQ"));
-        put("포스코퓨처엠", new StockInfo("003670", "포스코퓨처엠", "KOSPI"));
-
-        // 기타 주요 종목
-        put("포스코홀딩스", new StockInfo("005490", "포스코홀딩스", "KOSPI"));
-        put("NAVER", new StockInfo("035420", "네이버", "KOSPI"));
-        put("삼전", new StockInfo("005930", "삼성전자", "KOSPI")); // 별칭
-
-        // 인기 바이오/제약 (KOSDAQ)
-        put("이수페타시스", new StockInfo("007660", "이수페타시스", "KOSDAQ"));
-        put("HLB", new StockInfo("028300", "HLB", "KOSDAQ"));
-        put("HLB생명과학", new StockInfo("067630", "HLB생명과학", "KOSDAQ"));
-        put("알테오젠", new StockInfo("196170", "알테오젠", "KOSDAQ"));
-        put("메디톡스", new StockInfo("086900", "메디톡스", "KOSDAQ"));
-        put("파마리서치", new StockInfo("214450", "파마리서치", "KOSDAQ"));
-        put("레고켐바이오", new StockInfo("141080", "레고켐바이오", "KOSDAQ"));
-
-        // 인기 2차전지/소재 (KOSDAQ)
-        put("엘앤에프", new StockInfo("066970", "엘앤에프", "KOSDAQ"));
-        put("에코프로머티", new StockInfo("450080", "에코프로머티", "KOSDAQ"));
-        put("포스코엠텍", new StockInfo("009520", "포스코엠텍", "KOSDAQ"));
-        put("천보", new StockInfo("278280", "천보", "KOSDAQ"));
-        put("리노공업", new StockInfo("058470", "리노공업", "KOSDAQ"));
-
-        // 인기 반도체/부품 (KOSDAQ)
-        put("에이피알", new StockInfo("123420", "에이피알", "KOSDAQ"));
-        put("원익IPS", new StockInfo("240810", "원익IPS", "KOSDAQ"));
-        put("테스", new StockInfo("095610", "테스", "KOSDAQ"));
-        put("피에스케이", new StockInfo("319660", "피에스케이", "KOSDAQ"));
-
-        // 인기 IT/게임 (KOSDAQ)
-        put("펄어비스", new StockInfo("263750", "펄어비스", "KOSDAQ"));
-        put("위메이드", new StockInfo("112040", "위메이드", "KOSDAQ"));
-        put("카카오게임즈", new StockInfo("293490", "카카오게임즈", "KOSDAQ"));
-
-        // 기타 인기 종목
-        put("금양", new StockInfo("001570", "금양", "KOSPI"));
-        put("현대위아", new StockInfo("011210", "현대위아", "KOSPI"));
-        put("삼성에스디에스", new StockInfo("018260", "삼성에스디에스", "KOSPI"));
-        put("두산에너빌리티", new StockInfo("034020", "두산에너빌리티", "KOSPI"));
-    }};
+    // 일괄 조회 시 한 요청에 담을 종목 수
+    private final int batchChunkSize;
+
+    // 비동기 시세 조회 (요청 병렬 실행 + 마감 시간)
+    private final ExecutorService quoteExecutor;
+    private final long asyncTimeoutMs;
+
+    private static final String REALTIME_URL = "https://polling.finance.naver.com/api/realtime?query=";
+
+    // 종목 검색 인덱스 (종목 마스터가 바뀌면 새로 만들어 교체)
+    private volatile StockSearchIndex searchIndex;
+
+    // /list 응답 (종목 마스터에만 의존하므로 마스터가 바뀔 때만 새로 만듦)
+    private volatile String stockListText;
+
+    // 오타 허용 검색 시간 한도
+    private static final long FUZZY_BUDGET_NANOS = TimeUnit.MILLISECONDS.toNanos(5);
 
     static class StockInfo {
         String code;
@@ -128,9 +61,26 @@ public class StockService {
         }
     }
 
-    public StockService(PortfolioService portfolioService, SearchResultCache searchResultCache) {
+    public StockService(RestTemplate restTemplate,
+                        PortfolioService portfolioService,
+                        SearchResultCache searchResultCache,
+                        QuoteCache quoteCache,
+                        @Value("${stock.batch.chunk-size:20}") int batchChunkSize,
+                        @Qualifier("quoteExecutor") ExecutorService quoteExecutor,
+                        @Value("${stock.async.timeout-ms:3000}") long asyncTimeoutMs,
+                        StockMasterLoader stockMasterLoader) {
+        this.restTemplate = restTemplate;
+        this.quoteExecutor = quoteExecutor;
+        this.asyncTimeoutMs = asyncTimeoutMs;
         this.portfolioService = portfolioService;
         this.searchResultCache = searchResultCache;
+        this.quoteCache = quoteCache;
+        this.batchChunkSize = batchChunkSize;
+
+        stockMasterLoader.addListener(table -> {
+            this.searchIndex = StockSearchIndex.build(table);
+            this.stockListText = buildStockList(table);
+        });
     }
 
     /**
@@ -146,50 +96,22 @@ public class StockService {
 
             // 종목 정보 검색
             StockInfo stockInfo = findStock(stockName);
+            String correction = "";
             if (stockInfo == null) {
-                return "❌ '" + stockName + "' 종목을 찾을 수 없습니다.\n\n" +
-                        "💡 종목 검색하기:\n/search " + stockName + "\n\n" +
-                        "등록된 종목을 보려면: /list";
-            }
-
-            // 네이버 금융 API 호출
-            String url = "https://polling.finance.naver.com/api/realtime?query=SERVICE_ITEM:" + stockInfo.code;
-            String response = restTemplate.getForObject(url, String.class);
-
-            JsonNode root = objectMapper.readTree(response);
-            JsonNode result = root.path("result").path("areas").get(0).path("datas").get(0);
-
-            String name = result.path("nm").asText();
-            String currentPriceStr = result.path("nv").asText();
-            String changePrice = result.path("cv").asText();
-            String changeRate = result.path("cr").asText();
-            String volume = result.path("aq").asText();
-
-            double currentPrice = Double.parseDouble(currentPriceStr.replace(",", ""));
-
-            // 변화율로 상승/하락 판단 (더 정확함)
-            double rateValue = Double.parseDouble(changeRate.replace(",", ""));
-            String arrow = rateValue < 0 ? "🔻" : (rateValue > 0 ? "🔺" : "➖");
-
-            String basicInfo = String.format(
-                    "📊 %s (%s)\n\n" +
-                            "현재가: %s원\n" +
-                            "%s 전일대비: %s원 (%s%%)\n" +
-                            "거래량: %s주\n\n" +
-                            "⏰ 실시간 조회",
-                    name, stockInfo.code,
-                    formatNumber(currentPriceStr),
-                    arrow, changePrice, changeRate,
-                    formatNumber(volume)
-            );
-
-            // 포트폴리오 정보 추가
-            if (chatId != null && portfolioService.hasStock(chatId, name)) {
-                String profitInfo = portfolioService.calculateProfit(chatId, name, currentPrice);
-                return basicInfo + profitInfo;
+                // 오타일 수 있으니 가장 비슷한 종목으로 조회
+                List<StockInfo> suggestions = searchIndex.suggest(stockName, 1, FUZZY_BUDGET_NANOS);
+                if (suggestions.isEmpty()) {
+                    return "❌ '" + stockName + "' 종목을 찾을 수 없습니다.\n\n" +
+                            "💡 종목 검색하기:\n/search " + stockName + "\n\n" +
+                            "등록된 종목을 보려면: /list";
+                }
+                stockInfo = suggestions.get(0);
+                correction = "💡 '" + stockName + "' → '" + stockInfo.name + "'(으)로 조회했습니다\n\n";
             }
 
-            return basicInfo;
+            // 네이버 금융 API 호출 (캐시 우선)
+            Quote quote = fetchItem(stockInfo.code);
+            return correction + renderQuote(quote, chatId);
 
         } catch (Exception e) {
             System.err.println("❌ 주식 정보 조회 실패: " + stockName);
@@ -199,20 +121,70 @@ public class StockService {
         }
     }
 
+    /**
+     * 조회한 시세로 메시지 만들기 (포트폴리오에 있는 종목이면 수익 정보 포함)
+     */
+    public String renderQuote(Quote quote, Long chatId) {
+        return formatQuote(quote, quote.getCode()) + renderProfit(quote, chatId);
+    }
+
+    /**
+     * 포트폴리오 수익 정보만 (보유하지 않은 종목이면 빈 문자열)
+     * 여러 사용자에게 같은 시세를 보낼 때 시세 부분은 한 번만 만들고 이것만 붙임
+     */
+    public String renderProfit(Quote quote, Long chatId) {
+        if (chatId != null && portfolioService.hasStock(chatId, quote.getName())) {
+            return portfolioService.calculateProfit(chatId, quote.getName(), quote.getPrice());
+        }
+        return "";
+    }
+
+    /**
+     * 대시보드 표 (종목당 한 줄, 보유 종목은 수익률, 마지막에 평가손익 합계)
+     * 예: 🔺 삼성전자 71,500원 (2.14%) 💼+3.2%
+     */
+    public String formatDashboard(List<Quote> quotes, Long chatId) {
+        StringBuilder sb = new StringBuilder();
+        double totalBuy = 0;
+        double totalValue = 0;
+        for (Quote quote : quotes) {
+            sb.append(quote.getArrow()).append(" ").append(quote.getName()).append(" ")
+                    .append(formatPrice(quote.getPrice())).append("원 (")
+                    .append(formatRate(quote.getChangeRate())).append("%)");
+
+            PortfolioService.Stock stock = chatId != null ? portfolioService.getStock(chatId, quote.getName()) : null;
+            if (stock != null) {
+                double value = quote.getPrice() * stock.getQuantity();
+                sb.append(String.format(" 💼%+.1f%%", (value / stock.getTotalBuyPrice() - 1) * 100));
+                totalBuy += stock.getTotalBuyPrice();
+                totalValue += value;
+            }
+            sb.append("\n");
+        }
+
+        if (totalBuy > 0) {
+            double profit = totalValue - totalBuy;
+            sb.append(String.format("\n💼 평가손익 %+,.0f원 (%+.2f%%) / 평가금액 %,.0f원\n",
+                    profit, profit / totalBuy * 100, totalValue));
+        }
+        return sb.toString();
+    }
+
     /**
      * 종목 검색
      */
     public String searchStocks(String keyword, Long chatId) {
         System.out.println("🔍 searchStocks 호출: keyword = " + keyword + ", chatId = " + chatId);
 
-        String lowerKeyword = keyword.toLowerCase();
+        // 정확 > 접두 > 부분 일치 순으로 최대 15개
+        List<StockInfo> matchedStocks = searchIndex.search(keyword, 15);
 
-        var matchedStocks = stockDatabase.entrySet().stream()
-                .filter(entry ->
-                        entry.getKey().toLowerCase().contains(lowerKeyword) ||
-                                entry.getValue().name.toLowerCase().contains(lowerKeyword) ||
-                                entry.getValue().code.contains(keyword))
-                .collect(Collectors.toList());
+        // 결과가 없으면 오타 허용 검색으로 비슷한 종목 제안
+        boolean suggested = false;
+        if (matchedStocks.isEmpty()) {
+            matchedStocks = searchIndex.suggest(keyword, 5, FUZZY_BUDGET_NANOS);
+            suggested = !matchedStocks.isEmpty();
+        }
 
         if (matchedStocks.isEmpty()) {
             return "❌ '" + keyword + "'에 대한 검색 결과가 없습니다.\n\n" +
@@ -224,13 +196,16 @@ public class StockService {
         List<SearchResultCache.SearchResult> cacheResults = new ArrayList<>();
 
         StringBuilder result = new StringBuilder();
-        result.append("🔍 '").append(keyword).append("' 검색 결과\n");
+        if (suggested) {
+            result.append("🤔 '").append(keyword).append("' 검색 결과가 없습니다\n");
+            result.append("혹시 이 종목을 찾으셨나요?\n");
+        } else {
+            result.append("🔍 '").append(keyword).append("' 검색 결과\n");
+        }
         result.append("━━━━━━━━━━━━━━━━━━━━\n\n");
 
         int count = 0;
-        for (var entry : matchedStocks) {
-            if (count >= 15) break;
-            StockInfo info = entry.getValue();
+        for (StockInfo info : matchedStocks) {
             count++;
 
             // 캐시에 저장
@@ -244,7 +219,7 @@ public class StockService {
         result.append("총 ").append(count).append("개 종목\n\n");
         result.append("💡 사용법:\n");
         result.append("• 번호로 조회: 1~").append(count).append(" 입력\n");
-        result.append("• 이름으로 조회: /stock ").append(matchedStocks.get(0).getValue().name);
+        result.append("• 이름으로 조회: /stock ").append(matchedStocks.get(0).name);
 
         // 결과를 캐시에 저장 (chatId가 있을 때만)
         if (chatId != null) {
@@ -263,13 +238,26 @@ public class StockService {
     }
 
     /**
-     * 등록된 종목 리스트
+     * 등록된 종목 리스트 (미리 만들어 둔 응답)
      */
     public String getStockList() {
+        return stockListText;
+    }
+
+    /**
+     * 주요 종목을 그룹별로 묶은 /list 응답 (종목 마스터 교체 시에만 호출)
+     */
+    private static String buildStockList(SymbolTable table) {
         StringBuilder result = new StringBuilder("📋 등록된 주요 종목\n\n");
 
-        Map<String, java.util.List<StockInfo>> grouped = stockDatabase.values().stream()
-                .distinct()
+        List<StockInfo> majorStocks = new ArrayList<>();
+        for (int symbol = 0; symbol < table.size(); symbol++) {
+            if (table.isMajor(symbol)) {
+                majorStocks.add(table.info(symbol));
+            }
+        }
+
+        Map<String, java.util.List<StockInfo>> grouped = majorStocks.stream()
                 .collect(Collectors.groupingBy(s -> {
                     if (s.name.contains("삼성")) return "삼성 그룹";
                     if (s.name.contains("SK")) return "SK 그룹";
@@ -300,33 +288,7 @@ public class StockService {
      */
     public String getStockByCode(String code) {
         try {
-            String url = "https://polling.finance.naver.com/api/realtime?query=SERVICE_ITEM:" + code;
-            String response = restTemplate.getForObject(url, String.class);
-
-            JsonNode root = objectMapper.readTree(response);
-            JsonNode result = root.path("result").path("areas").get(0).path("datas").get(0);
-
-            String name = result.path("nm").asText();
-            String currentPriceStr = result.path("nv").asText();
-            String changePrice = result.path("cv").asText();
-            String changeRate = result.path("cr").asText();
-            String volume = result.path("aq").asText();
-
-            // 변화율로 상승/하락 판단
-            double rateValue = Double.parseDouble(changeRate.replace(",", ""));
-            String arrow = rateValue < 0 ? "🔻" : (rateValue > 0 ? "🔺" : "➖");
-
-            return String.format(
-                    "📊 %s (%s)\n\n" +
-                            "현재가: %s원\n" +
-                            "%s 전일대비: %s원 (%s%%)\n" +
-                            "거래량: %s주\n\n" +
-                            "⏰ 실시간 조회",
-                    name, code,
-                    formatNumber(currentPriceStr),
-                    arrow, changePrice, changeRate,
-                    formatNumber(volume)
-            );
+            return formatQuote(fetchItem(code), code);
 
         } catch (Exception e) {
             return "❌ 종목 코드 '" + code + "' 조회 실패\n올바른 6자리 코드인지 확인하세요.";
@@ -337,69 +299,63 @@ public class StockService {
      * 종목 찾기 (이름 또는 코드)
      */
     private StockInfo findStock(String query) {
-        // 정확한 이름 매칭
-        if (stockDatabase.containsKey(query)) {
-            return stockDatabase.get(query);
-        }
-
-        // 부분 매칭
-        String lowerQuery = query.toLowerCase();
-        for (var entry : stockDatabase.entrySet()) {
-            StockInfo info = entry.getValue();
-            if (info.name.toLowerCase().contains(lowerQuery) ||
-                    lowerQuery.contains(info.name.toLowerCase())) {
-                return info;
-            }
-        }
-
-        // 코드 매칭
-        for (StockInfo info : stockDatabase.values()) {
-            if (info.code.equals(query)) {
-                return info;
-            }
-        }
+        return searchIndex.find(query);
+    }
 
-        return null;
+    /**
+     * 종목명/코드로 종목 정보 찾기 (없으면 null)
+     */
+    StockInfo resolveStock(String query) {
+        return findStock(query);
     }
 
     /**
-     * 여러 종목 조회
+     * 여러 종목 조회 (한 번의 일괄 요청)
      */
     public String getMultipleStocks(String[] stockNames) {
         StringBuilder result = new StringBuilder("📈 주식 현황\n\n");
 
+        // 종목명 -> 종목 정보 (못 찾으면 null)
+        Map<String, StockInfo> resolved = new LinkedHashMap<>();
         for (String stockName : stockNames) {
-            String info = getSimpleStockInfo(stockName.trim());
-            result.append(info).append("\n");
+            String name = stockName.trim();
+            resolved.put(name, findStock(name));
         }
 
-        return result.toString();
-    }
+        Map<String, Quote> quotes = getQuotesByCode(resolved.values().stream()
+                .filter(Objects::nonNull)
+                .map(info -> info.code)
+                .collect(Collectors.toList()));
 
-    private String getSimpleStockInfo(String stockName) {
-        try {
-            StockInfo stockInfo = findStock(stockName);
-            if (stockInfo == null) return "❌ " + stockName + " - 종목을 찾을 수 없습니다";
+        resolved.forEach((name, stockInfo) ->
+                result.append(getSimpleStockInfo(name, stockInfo, quotes)).append("\n"));
 
-            String url = "https://polling.finance.naver.com/api/realtime?query=SERVICE_ITEM:" + stockInfo.code;
-            String response = restTemplate.getForObject(url, String.class);
+        return result.toString();
+    }
 
-            JsonNode result = objectMapper.readTree(response).path("result")
-                    .path("areas").get(0).path("datas").get(0);
+    private String getSimpleStockInfo(String stockName, StockInfo stockInfo, Map<String, Quote> quotes) {
+        if (stockInfo == null) return "❌ " + stockName + " - 종목을 찾을 수 없습니다";
 
-            String currentPrice = result.path("nv").asText();
-            String changeRate = result.path("cr").asText();
+        Quote quote = quotes.get(stockInfo.code);
+        if (quote == null) return "❌ " + stockName + " - 조회 실패";
 
-            // 변화율로 상승/하락 판단
-            double rateValue = Double.parseDouble(changeRate.replace(",", ""));
-            String arrow = rateValue < 0 ? "🔻" : (rateValue > 0 ? "🔺" : "➖");
+        return String.format("%s %s: %s원 (%s%%)",
+                quote.getArrow(), stockInfo.name, formatPrice(quote.getPrice()), formatRate(quote.getChangeRate()));
+    }
 
-            return String.format("%s %s: %s원 (%s%%)",
-                    arrow, stockInfo.name, formatNumber(currentPrice), changeRate);
+    /**
+     * 종목 코드로 여러 종목 시세 비동기 일괄 조회 (code -> Quote, 실패하거나 마감 시간을 넘긴 종목은 빠짐)
+     * 묶음별 요청을 동시에 보내고, 호출한 스레드는 기다리지 않음
+     */
+    public CompletableFuture<Map<String, Quote>> getQuotesAsync(Collection<String> codes) {
+        return fetchItemsAsync(codes);
+    }
 
-        } catch (Exception e) {
-            return "❌ " + stockName + " - 조회 실패";
-        }
+    /**
+     * 종목 코드로 여러 종목 시세 일괄 조회 (getQuotesAsync 결과를 기다림)
+     */
+    public Map<String, Quote> getQuotesByCode(Collection<String> codes) {
+        return getQuotesAsync(codes).join();
     }
 
     /**
@@ -459,43 +415,146 @@ public class StockService {
         try {
             StringBuilder result = new StringBuilder("📊 시장 지수\n\n");
 
-            // 코스피
-            String kospiUrl = "https://polling.finance.naver.com/api/realtime?query=SERVICE_INDEX:KOSPI";
-            String kospiResponse = restTemplate.getForObject(kospiUrl, String.class);
-            JsonNode kospi = objectMapper.readTree(kospiResponse).path("result")
-                    .path("areas").get(0).path("datas").get(0);
+            // 코스피/코스닥 동시 조회
+            CompletableFuture<Quote> kospiFuture = fetchIndexAsync("KOSPI");
+            CompletableFuture<Quote> kosdaqFuture = fetchIndexAsync("KOSDAQ");
+            CompletableFuture.allOf(kospiFuture, kosdaqFuture).get(asyncTimeoutMs, TimeUnit.MILLISECONDS);
 
-            String kospiValue = kospi.path("nv").asText();
-            String kospiChange = kospi.path("cv").asText();
-            String kospiRate = kospi.path("cr").asText();
+            result.append(formatIndex("KOSPI", kospiFuture.join())).append("\n");
+            result.append(formatIndex("KOSDAQ", kosdaqFuture.join()));
 
-            double kospiRateValue = Double.parseDouble(kospiRate.replace(",", ""));
-            String kospiArrow = kospiRateValue < 0 ? "🔻" : (kospiRateValue > 0 ? "🔺" : "➖");
+            return result.toString();
 
-            result.append(String.format("KOSPI: %s %s (%s%%)\n",
-                    kospiValue, kospiArrow + kospiChange, kospiRate));
+        } catch (Exception e) {
+            return "❌ 시장 지수 조회 실패";
+        }
+    }
 
-            // 코스닥
-            String kosdaqUrl = "https://polling.finance.naver.com/api/realtime?query=SERVICE_INDEX:KOSDAQ";
-            String kosdaqResponse = restTemplate.getForObject(kosdaqUrl, String.class);
-            JsonNode kosdaq = objectMapper.readTree(kosdaqResponse).path("result")
-                    .path("areas").get(0).path("datas").get(0);
+    /**
+     * 종목 시세 조회 (캐시 -> 네이버 API)
+     */
+    private Quote fetchItem(String code) throws Exception {
+        return fetchRealtime(code, "SERVICE_ITEM:" + code);
+    }
 
-            String kosdaqValue = kosdaq.path("nv").asText();
-            String kosdaqChange = kosdaq.path("cv").asText();
-            String kosdaqRate = kosdaq.path("cr").asText();
+    /**
+     * 지수 시세 비동기 조회 (캐시 -> 네이버 API)
+     */
+    private CompletableFuture<Quote> fetchIndexAsync(String indexCode) {
+        return fetchRealtimeAsync(indexCode, "SERVICE_INDEX:" + indexCode);
+    }
 
-            double kosdaqRateValue = Double.parseDouble(kosdaqRate.replace(",", ""));
-            String kosdaqArrow = kosdaqRateValue < 0 ? "🔻" : (kosdaqRateValue > 0 ? "🔺" : "➖");
+    /**
+     * 여러 종목 시세 비동기 조회
+     * 묶음마다 별도 스레드에서 요청하고, 마감 시간을 넘긴 묶음은 빈 결과로 처리
+     * 다른 요청이 조회 중인 종목은 풀 스레드가 기다리지 않고 그 결과가 오면 합침
+     */
+    private CompletableFuture<Map<String, Quote>> fetchItemsAsync(Collection<String> codes) {
+        List<String> distinctCodes = new ArrayList<>(new LinkedHashSet<>(codes));
+        List<CompletableFuture<Map<String, Quote>>> futures = new ArrayList<>();
+
+        for (int start = 0; start < distinctCodes.size(); start += batchChunkSize) {
+            List<String> chunk = new ArrayList<>(
+                    distinctCodes.subList(start, Math.min(start + batchChunkSize, distinctCodes.size())));
+
+            futures.add(CompletableFuture
+                    .supplyAsync(() -> quoteCache.getOrLoadAll(chunk, this::requestItems), quoteExecutor)
+                    .thenCompose(loaded -> loaded)
+                    .completeOnTimeout(Map.of(), asyncTimeoutMs, TimeUnit.MILLISECONDS)
+                    .exceptionally(e -> {
+                        System.err.println("❌ 일괄 시세 조회 실패: " + chunk + " - " + e.getMessage());
+                        return Map.of();
+                    }));
+        }
 
-            result.append(String.format("KOSDAQ: %s %s (%s%%)",
-                    kosdaqValue, kosdaqArrow + kosdaqChange, kosdaqRate));
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+                .thenApply(done -> {
+                    Map<String, Quote> result = new HashMap<>();
+                    futures.forEach(future -> result.putAll(future.join()));
+                    return result;
+                });
+    }
 
-            return result.toString();
+    private Map<String, Quote> requestItems(List<String> codes) {
+        Map<String, Quote> result = new HashMap<>();
+
+        for (int start = 0; start < codes.size(); start += batchChunkSize) {
+            List<String> chunk = codes.subList(start, Math.min(start + batchChunkSize, codes.size()));
+            try {
+                String response = restTemplate.getForObject(
+                        REALTIME_URL + "SERVICE_ITEM:" + String.join(",", chunk), String.class);
+                for (Quote quote : quoteParser.parse(response)) {
+                    result.put(quote.getCode(), quote);
+                }
+            } catch (Exception e) {
+                System.err.println("❌ 일괄 시세 조회 실패: " + chunk + " - " + e.getMessage());
+            }
+        }
 
-        } catch (Exception e) {
-            return "❌ 시장 지수 조회 실패";
+        return result;
+    }
+
+    private Quote fetchRealtime(String cacheKey, String query) throws Exception {
+        return quoteCache.getOrLoad(cacheKey, () -> requestRealtime(query));
+    }
+
+    private CompletableFuture<Quote> fetchRealtimeAsync(String cacheKey, String query) {
+        return quoteCache.getOrLoadAsync(cacheKey, () -> CompletableFuture.supplyAsync(() -> {
+            try {
+                return requestRealtime(query);
+            } catch (Exception e) {
+                throw new CompletionException(e);
+            }
+        }, quoteExecutor));
+    }
+
+    private Quote requestRealtime(String query) throws Exception {
+        String response = restTemplate.getForObject(REALTIME_URL + query, String.class);
+        Quote quote = quoteParser.parseFirst(response);
+        if (quote == null) {
+            throw new IllegalStateException("시세 데이터 없음: " + query);
         }
+        return quote;
+    }
+
+    /**
+     * 종목 시세 메시지
+     */
+    private String formatQuote(Quote quote, String code) {
+        return String.format(
+                "📊 %s (%s)\n\n" +
+                        "현재가: %s원\n" +
+                        "%s 전일대비: %s원 (%s%%)\n" +
+                        "거래량: %,d주\n\n" +
+                        "⏰ 실시간 조회",
+                quote.getName(), code,
+                formatPrice(quote.getPrice()),
+                quote.getArrow(), formatPrice(quote.getChange()), formatRate(quote.getChangeRate()),
+                quote.getVolume()
+        );
+    }
+
+    /**
+     * 지수 한 줄 (예: KOSPI: 2,543.21 🔺15.32 (0.61%))
+     */
+    private String formatIndex(String label, Quote quote) {
+        return String.format("%s: %s %s (%s%%)",
+                label, formatPrice(quote.getPrice()),
+                quote.getArrow() + formatPrice(quote.getChange()), formatRate(quote.getChangeRate()));
+    }
+
+    /**
+     * 가격 표시 (정수면 천 단위 구분, 소수면 소수점 2자리)
+     */
+    private String formatPrice(double value) {
+        if (value == Math.rint(value)) {
+            return String.format("%,d", (long) value);
+        }
+        return String.format("%,.2f", value);
+    }
+
+    private String formatRate(double rate) {
+        return String.format("%.2f", rate);
     }
 
     private String formatNumber(String number) {
@@ -512,14 +571,7 @@ public class StockService {
             StockInfo stockInfo = findStock(stockName);
             if (stockInfo == null) return 0;
 
-            String url = "https://polling.finance.naver.com/api/realtime?query=SERVICE_ITEM:" + stockInfo.code;
-            String response = restTemplate.getForObject(url, String.class);
-
-            JsonNode result = objectMapper.readTree(response).path("result")
-                    .path("areas").get(0).path("datas").get(0);
-
-            String currentPrice = result.path("nv").asText();
-            return Double.parseDouble(currentPrice.replace(",", ""));
+            return fetchItem(stockInfo.code).getPrice();
 
         } catch (Exception e) {
             return 0;
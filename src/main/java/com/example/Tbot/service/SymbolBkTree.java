@@ -0,0 +1,148 @@
+package com.example.Tbot.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 오타 허용 검색용 BK-트리 (편집 거리 기준, 불변)
+ * 노드는 배열로 보관하고 자식은 첫 자식/다음 형제 번호로 연결
+ */
+final class SymbolBkTree {
+
+    private static final int NONE = -1;
+
+    // 노드 n이 가리키는 키 번호 (StockSearchIndex 키 번호)
+    private final int[] nodeKeys;
+    private final int[] firstChild;
+    private final int[] nextSibling;
+    private final int[] parentDistance;
+    private final String[] keys;
+    private int nodeCount;
+
+    /**
+     * 조회 결과 (키 번호 + 편집 거리)
+     */
+    static final class Match {
+        final int keyId;
+        final int distance;
+
+        Match(int keyId, int distance) {
+            this.keyId = keyId;
+            this.distance = distance;
+        }
+    }
+
+    /**
+     * @param keys   전체 키 목록
+     * @param keyIds 트리에 넣을 키 번호 (순서대로 삽입)
+     */
+    SymbolBkTree(String[] keys, int[] keyIds) {
+        this.keys = keys;
+        this.nodeKeys = new int[keyIds.length];
+        this.firstChild = new int[keyIds.length];
+        this.nextSibling = new int[keyIds.length];
+        this.parentDistance = new int[keyIds.length];
+
+        for (int keyId : keyIds) {
+            insert(keyId);
+        }
+    }
+
+    private void insert(int keyId) {
+        int node = nodeCount++;
+        nodeKeys[node] = keyId;
+        firstChild[node] = NONE;
+        nextSibling[node] = NONE;
+        if (node == 0) return;
+
+        String key = keys[keyId];
+        int current = 0;
+        while (true) {
+            int distance = distance(key, keys[nodeKeys[current]]);
+            if (distance == 0) {
+                // 같은 키는 한 번만 (앞서 넣은 키 우선)
+                nodeCount--;
+                return;
+            }
+
+            int child = firstChild[current];
+            while (child != NONE && parentDistance[child] != distance) {
+                child = nextSibling[child];
+            }
+            if (child == NONE) {
+                parentDistance[node] = distance;
+                nextSibling[node] = firstChild[current];
+                firstChild[current] = node;
+                return;
+            }
+            current = child;
+        }
+    }
+
+    /**
+     * 편집 거리 maxDistance 이내의 키 찾기
+     * 방문 노드 수와 마감 시각을 넘기면 그때까지 찾은 것만 반환
+     */
+    List<Match> search(String query, int maxDistance, int maxVisits, long deadlineNanos) {
+        List<Match> matches = new ArrayList<>();
+        if (nodeCount == 0) return matches;
+
+        int[] stack = new int[nodeCount];
+        int top = 0;
+        stack[top++] = 0;
+        int visits = 0;
+
+        while (top > 0) {
+            if (++visits > maxVisits || ((visits & 63) == 0 && System.nanoTime() > deadlineNanos)) {
+                break;
+            }
+
+            int node = stack[--top];
+            int distance = distance(query, keys[nodeKeys[node]]);
+            if (distance <= maxDistance) {
+                matches.add(new Match(nodeKeys[node], distance));
+            }
+
+            // 삼각 부등식: |d - max| ~ d + max 범위의 자식만 확인
+            for (int child = firstChild[node]; child != NONE; child = nextSibling[child]) {
+                int edge = parentDistance[child];
+                if (edge >= distance - maxDistance && edge <= distance + maxDistance) {
+                    stack[top++] = child;
+                }
+            }
+        }
+        return matches;
+    }
+
+    int size() {
+        return nodeCount;
+    }
+
+    /**
+     * 레벤슈타인 거리 (글자 단위, 한글은 음절 단위)
+     */
+    static int distance(String a, String b) {
+        if (a.length() < b.length()) {
+            String t = a;
+            a = b;
+            b = t;
+        }
+
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) previous[j] = j;
+
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            char ca = a.charAt(i - 1);
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = ca == b.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+            }
+            int[] t = previous;
+            previous = current;
+            current = t;
+        }
+        return previous[b.length()];
+    }
+}
@@ -0,0 +1,220 @@
+package com.example.Tbot.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 종목 마스터 (불변, 압축 저장)
+ * 종목 코드는 int, 종목명/별칭은 공용 char 배열 + 오프셋으로 보관
+ * 종목 번호(0 ~ size-1)는 코드 오름차순
+ */
+public final class SymbolTable {
+
+    private static final String[] MARKETS = {"KOSPI", "KOSDAQ", "KONEX"};
+
+    private final int[] codes;           // 종목 코드 (36진수 -> int, 오름차순)
+    private final char[] names;          // 종목명 모음
+    private final int[] nameOffsets;     // 종목명 시작 위치 (size + 1개)
+    private final byte[] markets;        // 시장 번호 (MARKETS)
+    private final short[] sectorIds;     // 업종 번호 (sectors)
+    private final String[] sectors;
+    private final BitSet major;          // 주요 종목 여부 (/list 표시)
+
+    private final char[] aliases;        // 별칭 모음
+    private final int[] aliasOffsets;    // 별칭 시작 위치 (aliasCount + 1개)
+    private final int[] aliasSymbols;    // 별칭이 가리키는 종목 번호
+
+    private SymbolTable(int[] codes, char[] names, int[] nameOffsets, byte[] markets,
+                        short[] sectorIds, String[] sectors, BitSet major,
+                        char[] aliases, int[] aliasOffsets, int[] aliasSymbols) {
+        this.codes = codes;
+        this.names = names;
+        this.nameOffsets = nameOffsets;
+        this.markets = markets;
+        this.sectorIds = sectorIds;
+        this.sectors = sectors;
+        this.major = major;
+        this.aliases = aliases;
+        this.aliasOffsets = aliasOffsets;
+        this.aliasSymbols = aliasSymbols;
+    }
+
+    /**
+     * 종목 코드 -> int (예: "005930" -> 36진수 값, "0001A0" 같은 영문 포함 코드도 지원)
+     */
+    public static int parseCode(String code) {
+        return Integer.parseInt(code.trim(), 36);
+    }
+
+    /**
+     * int -> 6자리 종목 코드
+     */
+    public static String formatCode(int code) {
+        String text = Integer.toString(code, 36).toUpperCase();
+        return text.length() >= 6 ? text : "000000".substring(text.length()) + text;
+    }
+
+    public int size() {
+        return codes.length;
+    }
+
+    public String code(int symbol) {
+        return formatCode(codes[symbol]);
+    }
+
+    public int codeId(int symbol) {
+        return codes[symbol];
+    }
+
+    public String name(int symbol) {
+        return new String(names, nameOffsets[symbol], nameOffsets[symbol + 1] - nameOffsets[symbol]);
+    }
+
+    public String market(int symbol) {
+        return MARKETS[markets[symbol]];
+    }
+
+    public String sector(int symbol) {
+        return sectors[sectorIds[symbol]];
+    }
+
+    public boolean isMajor(int symbol) {
+        return major.get(symbol);
+    }
+
+    public int aliasCount() {
+        return aliasSymbols.length;
+    }
+
+    public String alias(int index) {
+        return new String(aliases, aliasOffsets[index], aliasOffsets[index + 1] - aliasOffsets[index]);
+    }
+
+    public int aliasSymbol(int index) {
+        return aliasSymbols[index];
+    }
+
+    /**
+     * 코드로 종목 번호 찾기 (없으면 -1)
+     */
+    public int indexOfCode(String code) {
+        try {
+            return indexOfCodeId(parseCode(code));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    public int indexOfCodeId(int codeId) {
+        int index = Arrays.binarySearch(codes, codeId);
+        return index >= 0 ? index : -1;
+    }
+
+    /**
+     * 종목 정보 (검색/조회용 가벼운 객체)
+     */
+    StockService.StockInfo info(int symbol) {
+        return new StockService.StockInfo(code(symbol), name(symbol), market(symbol));
+    }
+
+    /**
+     * 마스터 파일 한 줄씩 쌓아서 생성
+     */
+    static class Builder {
+
+        private static class Row {
+            final int code;
+            final String name;
+            final byte market;
+            final String sector;
+            final String[] aliases;
+            final boolean major;
+
+            Row(int code, String name, byte market, String sector, String[] aliases, boolean major) {
+                this.code = code;
+                this.name = name;
+                this.market = market;
+                this.sector = sector;
+                this.aliases = aliases;
+                this.major = major;
+            }
+        }
+
+        private final Map<Integer, Row> rows = new HashMap<>();
+
+        /**
+         * 한 줄 추가: 코드, 종목명, 시장, 업종, 별칭(쉼표 구분), 주요종목(Y/N)
+         * 같은 코드가 다시 나오면 나중 값으로 대체
+         */
+        Builder add(String code, String name, String market, String sector, String aliasList, boolean major) {
+            byte marketId = (byte) Arrays.asList(MARKETS).indexOf(market.trim().toUpperCase());
+            if (marketId < 0) {
+                throw new IllegalArgumentException("알 수 없는 시장: " + market);
+            }
+
+            String[] aliasArray = aliasList == null || aliasList.isBlank()
+                    ? new String[0]
+                    : Arrays.stream(aliasList.split(",")).map(String::trim).filter(a -> !a.isEmpty()).toArray(String[]::new);
+
+            int codeId = parseCode(code);
+            rows.put(codeId, new Row(codeId, name.trim(), marketId, sector == null ? "" : sector.trim(), aliasArray, major));
+            return this;
+        }
+
+        SymbolTable build() {
+            List<Row> sorted = new ArrayList<>(rows.values());
+            sorted.sort((a, b) -> Integer.compare(a.code, b.code));
+
+            int size = sorted.size();
+            int[] codes = new int[size];
+            int[] nameOffsets = new int[size + 1];
+            byte[] markets = new byte[size];
+            short[] sectorIds = new short[size];
+            BitSet major = new BitSet(size);
+            StringBuilder names = new StringBuilder();
+
+            Map<String, Short> sectorIndex = new HashMap<>();
+            List<String> sectors = new ArrayList<>();
+
+            StringBuilder aliases = new StringBuilder();
+            List<Integer> aliasOffsets = new ArrayList<>();
+            List<Integer> aliasSymbols = new ArrayList<>();
+
+            for (int i = 0; i < size; i++) {
+                Row row = sorted.get(i);
+                codes[i] = row.code;
+                nameOffsets[i] = names.length();
+                names.append(row.name);
+                markets[i] = row.market;
+                sectorIds[i] = sectorIndex.computeIfAbsent(row.sector, s -> {
+                    sectors.add(s);
+                    return (short) (sectors.size() - 1);
+                });
+                if (row.major) major.set(i);
+
+                for (String alias : row.aliases) {
+                    aliasOffsets.add(aliases.length());
+                    aliases.append(alias);
+                    aliasSymbols.add(i);
+                }
+            }
+            nameOffsets[size] = names.length();
+            aliasOffsets.add(aliases.length());
+
+            char[] nameChars = new char[names.length()];
+            names.getChars(0, names.length(), nameChars, 0);
+            char[] aliasChars = new char[aliases.length()];
+            aliases.getChars(0, aliases.length(), aliasChars, 0);
+
+            return new SymbolTable(codes, nameChars, nameOffsets, markets, sectorIds,
+                    sectors.toArray(new String[0]), major,
+                    aliasChars,
+                    aliasOffsets.stream().mapToInt(Integer::intValue).toArray(),
+                    aliasSymbols.stream().mapToInt(Integer::intValue).toArray());
+        }
+    }
+}
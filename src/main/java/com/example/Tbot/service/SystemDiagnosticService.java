@@ -1,5 +1,10 @@
 package com.example.Tbot.service;
 
+import com.example.Tbot.config.JobScheduler;
+import com.example.Tbot.telegram.TbotTelegram;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.core5.pool.PoolStats;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 import com.fasterxml.jackson.databind.JsonNode;
@@ -8,18 +13,36 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 @Service
 public class SystemDiagnosticService {
 
-    private final RestTemplate restTemplate = new RestTemplate();
+    private final RestTemplate restTemplate;
     private final ObjectMapper objectMapper = new ObjectMapper();
+    private final QuoteParser quoteParser = new QuoteParser();
     private final StockService stockService;
     private final PortfolioService portfolioService;
     private final SearchResultCache searchResultCache;
-
-    public SystemDiagnosticService(StockService stockService,
+    private final QuoteCache quoteCache;
+    private final PoolingHttpClientConnectionManager httpConnectionManager;
+    private final JobScheduler jobScheduler;
+    private final QuoteTickBus tickBus;
+    private final TbotTelegram telegram;
+
+    public SystemDiagnosticService(RestTemplate restTemplate,
+                                   PoolingHttpClientConnectionManager httpConnectionManager,
+                                   StockService stockService,
                                    PortfolioService portfolioService,
-                                   SearchResultCache searchResultCache) {
+                                   SearchResultCache searchResultCache,
+                                   QuoteCache quoteCache,
+                                   JobScheduler jobScheduler,
+                                   QuoteTickBus tickBus,
+                                   @Lazy TbotTelegram telegram) {
+        this.restTemplate = restTemplate;
+        this.httpConnectionManager = httpConnectionManager;
         this.stockService = stockService;
         this.portfolioService = portfolioService;
         this.searchResultCache = searchResultCache;
+        this.quoteCache = quoteCache;
+        this.jobScheduler = jobScheduler;
+        this.tickBus = tickBus;
+        this.telegram = telegram;
     }
 
     /**
@@ -82,6 +105,27 @@ public class SystemDiagnosticService {
         totalTests++;
         if (databaseTest.success) passedTests++;
 
+        // 시세 캐시 현황 (통과/실패 집계 제외)
+        report.append("📦 시세 캐시\n");
+        report.append(quoteCache.getStats()).append("\n\n");
+
+        // HTTP 커넥션 풀 현황 (통과/실패 집계 제외)
+        report.append("🌐 HTTP 커넥션 풀\n");
+        report.append(getConnectionPoolStats()).append("\n\n");
+
+        // 수신 업데이트 처리 현황 (통과/실패 집계 제외)
+        report.append("📥 수신 업데이트 처리\n");
+        report.append(telegram.getDispatchStats()).append("\n\n");
+
+        // 텔레그램 발신 큐 현황 (통과/실패 집계 제외)
+        report.append("📮 텔레그램 발신 큐\n");
+        report.append(telegram.getOutboundStats()).append("\n\n");
+
+        // 주기 작업 실행 현황 (통과/실패 집계 제외)
+        report.append("⏱️ 주기 작업\n");
+        report.append(jobScheduler.getStats()).append("\n");
+        report.append("   └ 시세 버스: ").append(tickBus.describe()).append("\n\n");
+
         // 최종 결과
         report.append("━━━━━━━━━━━━━━━━━━━━\n");
         report.append("📊 최종 결과: ").append(passedTests).append("/").append(totalTests).append(" 통과\n\n");
@@ -147,6 +191,23 @@ public class SystemDiagnosticService {
         return report.toString();
     }
 
+    /**
+     * 커넥션 풀 사용 현황
+     */
+    public String getConnectionPoolStats() {
+        PoolStats stats = httpConnectionManager.getTotalStats();
+        double utilization = stats.getMax() == 0 ? 0 : (double) stats.getLeased() / stats.getMax() * 100;
+
+        return String.format(
+                "   └ 사용 중: %d / %d (%.1f%%)\n" +
+                        "   └ 유휴: %d | 대기: %d\n" +
+                        "   └ 호스트당 최대: %d",
+                stats.getLeased(), stats.getMax(), utilization,
+                stats.getAvailable(), stats.getPending(),
+                httpConnectionManager.getDefaultMaxPerRoute()
+        );
+    }
+
     /**
      * 1. 네이버 금융 시세 조회 API 테스트
      */
@@ -159,19 +220,16 @@ public class SystemDiagnosticService {
                 return new DiagnosticResult(false, "❌ FAIL: API 응답 없음");
             }
 
-            JsonNode root = objectMapper.readTree(response);
-            JsonNode result = root.path("result").path("areas").get(0).path("datas").get(0);
-            String stockName = result.path("nm").asText();
-            String price = result.path("nv").asText();
+            Quote quote = quoteParser.parseFirst(response);
 
-            if (stockName.isEmpty() || price.isEmpty()) {
+            if (quote == null || quote.getName() == null || quote.getPrice() <= 0) {
                 return new DiagnosticResult(false, "❌ FAIL: 데이터 파싱 실패");
             }
 
             return new DiagnosticResult(true,
                     "✅ PASS: 정상 작동\n" +
                             "   └ 테스트: 삼성전자 (005930)\n" +
-                            "   └ 현재가: " + price + "원");
+                            "   └ 현재가: " + String.format("%,.0f", quote.getPrice()) + "원");
 
         } catch (Exception e) {
             return new DiagnosticResult(false,
@@ -222,17 +280,15 @@ public class SystemDiagnosticService {
                 return new DiagnosticResult(false, "❌ FAIL: API 응답 없음");
             }
 
-            JsonNode kospi = objectMapper.readTree(response).path("result")
-                    .path("areas").get(0).path("datas").get(0);
-            String kospiValue = kospi.path("nv").asText();
+            Quote kospi = quoteParser.parseFirst(response);
 
-            if (kospiValue.isEmpty()) {
+            if (kospi == null || kospi.getPrice() <= 0) {
                 return new DiagnosticResult(false, "❌ FAIL: 데이터 파싱 실패");
             }
 
             return new DiagnosticResult(true,
                     "✅ PASS: 정상 작동\n" +
-                            "   └ KOSPI: " + kospiValue);
+                            "   └ KOSPI: " + kospi.getPrice());
 
         } catch (Exception e) {
             return new DiagnosticResult(false,
@@ -0,0 +1,138 @@
+package com.example.Tbot.telegram;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 봇 명령 하나 (이름/별칭, 권한, 인자 규칙, 처리기)
+ * 권한과 인자 확인은 처리기 실행 전에 여기서 하고, 인자 해석은 처리기가 직접 함
+ */
+final class Command {
+
+    /**
+     * 명령 처리기 (args: 명령 뒤 나머지 문자열, 앞뒤 공백 제거)
+     */
+    @FunctionalInterface
+    interface Handler {
+        String handle(String args, Long chatId);
+    }
+
+    /**
+     * 비동기 명령 처리기 (시세 조회 등을 기다리지 않고 응답 future 반환)
+     */
+    @FunctionalInterface
+    interface AsyncHandler {
+        CompletableFuture<String> handle(String args, Long chatId);
+    }
+
+    enum Access {
+        ANYONE,     // 누구나
+        CHAT,       // chatId가 있어야 함 (알림/포트폴리오 등 채팅별 상태)
+        DEVELOPER   // 개발자 계정만
+    }
+
+    enum Args {
+        NONE,       // 인자 없음 (붙어 있으면 무시)
+        OPTIONAL,   // 있어도 없어도 됨
+        REQUIRED    // 없으면 사용법 안내
+    }
+
+    // 개발자 계정 (환경변수나 설정 파일에서 관리 권장)
+    static final Long DEVELOPER_CHAT_ID = 8501154254L; // 실제 개발자 chatId로 변경
+
+    final List<String> names;
+    final Access access;
+    final String action;
+    final Args args;
+    final String usage;
+    final AsyncHandler handler;
+
+    private Command(Builder builder, AsyncHandler handler) {
+        this.names = builder.names;
+        this.access = builder.access;
+        this.action = builder.action;
+        this.args = builder.args;
+        this.usage = builder.usage;
+        this.handler = handler;
+    }
+
+    /**
+     * 이름과 별칭 (예: named("/stock", "/주식"))
+     */
+    static Builder named(String... names) {
+        return new Builder(List.of(names));
+    }
+
+    /**
+     * 권한/인자 확인 후 처리기 실행
+     */
+    CompletableFuture<String> run(String argument, Long chatId) {
+        switch (access) {
+            case CHAT:
+                if (chatId == null) {
+                    return CompletableFuture.completedFuture("❌ " + action + " 실패: chatId가 필요합니다.");
+                }
+                break;
+            case DEVELOPER:
+                if (chatId == null || !chatId.equals(DEVELOPER_CHAT_ID)) {
+                    return CompletableFuture.completedFuture("❌ 이 명령어는 개발자만 사용할 수 있습니다.");
+                }
+                break;
+            default:
+                break;
+        }
+
+        if (args == Args.REQUIRED && argument.isEmpty()) {
+            return CompletableFuture.completedFuture("❌ 사용법: " + usage);
+        }
+        return handler.handle(args == Args.NONE ? "" : argument, chatId);
+    }
+
+    static final class Builder {
+        private final List<String> names;
+        private Access access = Access.ANYONE;
+        private String action;
+        private Args args = Args.NONE;
+        private String usage;
+
+        private Builder(List<String> names) {
+            this.names = names;
+        }
+
+        /**
+         * chatId 필요 (없으면 "❌ {action} 실패: chatId가 필요합니다.")
+         */
+        Builder requiresChat(String action) {
+            this.access = Access.CHAT;
+            this.action = action;
+            return this;
+        }
+
+        Builder developerOnly() {
+            this.access = Access.DEVELOPER;
+            return this;
+        }
+
+        Builder optionalArgs() {
+            this.args = Args.OPTIONAL;
+            return this;
+        }
+
+        /**
+         * 인자 필수 (없으면 "❌ 사용법: {usage}")
+         */
+        Builder requiresArgs(String usage) {
+            this.args = Args.REQUIRED;
+            this.usage = usage;
+            return this;
+        }
+
+        Command handle(Handler handler) {
+            return new Command(this, (args, chatId) -> CompletableFuture.completedFuture(handler.handle(args, chatId)));
+        }
+
+        Command handleAsync(AsyncHandler handler) {
+            return new Command(this, handler);
+        }
+    }
+}
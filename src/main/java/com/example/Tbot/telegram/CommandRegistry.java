@@ -0,0 +1,44 @@
+package com.example.Tbot.telegram;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 명령 표 (이름/별칭 → 명령)
+ * 메시지 첫 단어 하나로 바로 찾음 (명령이 늘어도 찾는 비용은 같음)
+ */
+final class CommandRegistry {
+
+    private final Map<String, Command> commands = new HashMap<>();
+
+    /**
+     * 명령 등록 (이름/별칭이 이미 있으면 예외)
+     */
+    void register(Command command) {
+        for (String name : command.names) {
+            Command previous = commands.putIfAbsent(normalize(name), command);
+            if (previous != null) {
+                throw new IllegalStateException("이미 등록된 명령어: " + name);
+            }
+        }
+    }
+
+    /**
+     * 첫 단어로 명령 찾기 (없으면 null)
+     * 그룹 채팅의 "/stock@봇이름" 형태와 대소문자 차이는 같은 명령으로 봄
+     */
+    Command find(String token) {
+        return commands.get(normalize(token));
+    }
+
+    int size() {
+        return commands.size();
+    }
+
+    private static String normalize(String token) {
+        int mention = token.indexOf('@');
+        String name = mention > 0 ? token.substring(0, mention) : token;
+        return name.toLowerCase(Locale.ROOT);
+    }
+}
@@ -2,6 +2,9 @@ package com.example.Tbot.telegram;
 
 import com.example.Tbot.service.*;
 import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.concurrent.CompletableFuture;
 
 @Component
 public class CommandRouter {
@@ -12,297 +15,393 @@ public class CommandRouter {
     private final ContinuousMonitoringService monitoringService;
     private final PortfolioService portfolioService;
     private final SystemDiagnosticService diagnosticService;
-
-    // 개발자 계정 (환경변수나 설정 파일에서 관리 권장)
-    private static final Long DEVELOPER_CHAT_ID = 8501154254L; // 실제 개발자 chatId로 변경
+    private final RestTemplate restTemplate;
+    private final MarketCalendar marketCalendar;
+
+    // 명령 표 (첫 단어로 바로 찾음)
+    private final CommandRegistry registry = new CommandRegistry();
+
+    private static final String UNKNOWN_COMMAND = "❓ 알 수 없는 명령어입니다.\n/help를 입력하여 사용법을 확인하세요.";
+
+    private static final String HELP_TEXT = """
+            📱 텔레그램 주식 봇
+            
+            🔍 종목 검색
+            /search <키워드> - 종목 검색 (부분검색 가능)
+            /stock <종목명> - 주식 현재가 조회
+            
+            📊 시장 정보
+            /market - 코스피/코스닥 지수
+            /popular - 인기 검색 종목
+            
+            💼 포트폴리오
+            /add <종목명> <매수가> <수량> - 주식 추가
+            /remove <종목명> - 주식 삭제
+            /portfolio - 내 포트폴리오
+            
+            🔔 알림/모니터링
+            /alert <종목명> - 가격 변동 알림 (여러 종목 가능)
+            /alert list - 내 알림 목록
+            /unalert <종목명> - 종목 알림 해제
+            /alert <종목명> >=75000 - 조건 알림 (<=, +5%, -3%, vol>=)
+            /rules - 조건 알림 목록
+            /monitor <종목명> - 연속 모니터링 (여러 종목 가능)
+            /live <종목명> - 라이브 모니터링 (메시지 하나를 계속 갱신)
+            /live off - 라이브 모드 끄기
+            /dashboard - 포트폴리오 대시보드 (표 하나를 계속 갱신)
+            /dashboard <종목명> <종목명> ... - 관심 종목 대시보드
+            /unmonitor <종목명> - 종목 모니터링 중지
+            /stop - 알림/모니터링 중지
+            /status - 현재 상태
+            
+            💡 사용 예시
+            /search 현대 → 현대 관련 종목 검색
+            /stock 삼성전자 → 시세 조회
+            /add 카카오 50000 5 → 포트폴리오 추가
+            """;
 
     public CommandRouter(CliService cliService,
                          StockService stockService,
                          StockAlertService stockAlertService,
                          ContinuousMonitoringService monitoringService,
                          PortfolioService portfolioService,
-                         SystemDiagnosticService diagnosticService) {
+                         SystemDiagnosticService diagnosticService,
+                         RestTemplate restTemplate,
+                         MarketCalendar marketCalendar) {
         this.cliService = cliService;
         this.stockService = stockService;
         this.stockAlertService = stockAlertService;
         this.monitoringService = monitoringService;
         this.portfolioService = portfolioService;
         this.diagnosticService = diagnosticService;
+        this.restTemplate = restTemplate;
+        this.marketCalendar = marketCalendar;
+
+        registerCommands();
+        System.out.println("🧭 명령어 등록 완료: " + registry.size() + "개 (별칭 포함)");
     }
 
-    public String route(String message) {
+    public CompletableFuture<String> route(String message) {
         return route(message, null);
     }
 
-    public String route(String message, Long chatId) {
-
-        // CLI 명령어
-        if (message.startsWith("/cli ")) {
-            String command = message.substring(5);
-            cliService.executeAsync(command);
-            return "✅ CLI 실행 시작: " + command;
+    /**
+     * 첫 단어로 명령을 찾아 실행 (권한/인자 확인은 Command가 함)
+     * 시세를 조회하는 명령은 기다리지 않고 응답 future를 돌려줌
+     */
+    public CompletableFuture<String> route(String message, Long chatId) {
+        String text = message.trim();
+        int space = indexOfWhitespace(text);
+        String token = space < 0 ? text : text.substring(0, space);
+        String args = space < 0 ? "" : text.substring(space + 1).trim();
+
+        Command command = registry.find(token);
+        if (command != null) {
+            return command.run(args, chatId);
         }
 
-        // 🔍 종목 검색 (NEW!)
-        if (message.startsWith("/search ") || message.startsWith("/find ")) {
-            String keyword = message.substring(message.indexOf(" ") + 1).trim();
-            return stockService.searchStocks(keyword, chatId);
+        // 💡 숫자만 입력한 경우 - 검색 결과에서 선택
+        if (isDigits(text)) {
+            return CompletableFuture.completedFuture(selectSearchResult(text, chatId));
         }
 
-        // 종목 코드로 직접 조회
-        if (message.startsWith("/code ")) {
-            String code = message.substring(6).trim();
-            return stockService.getStockByCode(code);
-        }
+        return CompletableFuture.completedFuture(UNKNOWN_COMMAND);
+    }
 
-        // 💡 숫자만 입력한 경우 - 검색 결과에서 선택
-        if (message.matches("^\\d+$")) {
-            if (chatId == null) {
-                return "❓ 알 수 없는 명령어입니다.\n/help를 입력하여 사용법을 확인하세요.";
-            }
+    private void registerCommands() {
+        // CLI 명령어 (서버에서 그대로 실행되므로 개발자 전용)
+        registry.register(Command.named("/cli")
+                .developerOnly()
+                .requiresArgs("/cli <명령어>")
+                .handle((command, chatId) -> {
+                    cliService.executeAsync(command);
+                    return "✅ CLI 실행 시작: " + command;
+                }));
+
+        // 🔍 종목 검색
+        registry.register(Command.named("/search", "/find")
+                .requiresArgs("/search <키워드>\n예: /search 현대")
+                .handle((keyword, chatId) -> stockService.searchStocks(keyword, chatId)));
 
-            int index = Integer.parseInt(message);
+        // 종목 코드로 직접 조회
+        registry.register(Command.named("/code")
+                .requiresArgs("/code <종목코드>\n예: /code 005930")
+                .handle((code, chatId) -> stockService.getStockByCode(code)));
+
+        // ⭐ 포트폴리오
+        registry.register(Command.named("/add")
+                .requiresChat("포트폴리오 추가")
+                .requiresArgs("/add <종목명> <매수가> <수량>\n예: /add 삼성전자 71000 10")
+                .handle(this::addStock));
+
+        registry.register(Command.named("/remove")
+                .requiresChat("포트폴리오 삭제")
+                .requiresArgs("/remove <종목명>")
+                .handle((stockName, chatId) -> portfolioService.removeStock(chatId, stockName)));
+
+        registry.register(Command.named("/portfolio", "/mystock")
+                .requiresChat("포트폴리오 조회")
+                .handle((args, chatId) -> portfolioService.getPortfolio(chatId)));
+
+        // 주식 조회 (포트폴리오 정보 포함)
+        registry.register(Command.named("/stock", "/주식")
+                .requiresArgs("/stock <종목명>\n예: /stock 삼성전자")
+                .handle((stockName, chatId) -> stockService.getStockPrice(stockName, chatId)));
 
-            // 검색 결과 캐시에서 가져오기
-            var searchResult = stockService.getSearchResultByIndex(chatId, index);
+        // 여러 종목 조회
+        registry.register(Command.named("/stocks")
+                .requiresArgs("/stocks <종목명>,<종목명>,...\n예: /stocks 삼성전자,네이버,카카오")
+                .handle((stockNames, chatId) -> stockService.getMultipleStocks(stockNames.split(","))));
 
-            if (searchResult == null) {
-                return "❌ 검색 결과가 없습니다.\n\n" +
-                        "💡 먼저 /search 명령어로 종목을 검색하세요.\n" +
-                        "예: /search 현대\n\n" +
-                        "검색 결과는 5분간 유지됩니다.";
-            }
+        // 시장 지수 / 인기 종목 / 지원 종목 리스트
+        registry.register(Command.named("/market", "/지수")
+                .handle((args, chatId) -> stockService.getMarketIndex()));
 
-            // 선택된 종목 조회
-            return stockService.getStockPrice(searchResult.name, chatId);
-        }
+        registry.register(Command.named("/popular", "/인기")
+                .handle((args, chatId) -> stockService.getPopularStocks()));
 
-        // ⭐ 포트폴리오에 주식 추가
-        if (message.startsWith("/add ")) {
-            if (chatId == null) {
-                return "❌ 포트폴리오 추가 실패: chatId가 필요합니다.";
-            }
+        registry.register(Command.named("/list")
+                .handle((args, chatId) -> stockService.getStockList()));
 
-            try {
-                String[] parts = message.substring(5).trim().split("\\s+");
-                if (parts.length != 3) {
-                    return "❌ 형식이 올바르지 않습니다.\n\n" +
-                            "사용법: /add <종목명> <매수가> <수량>\n" +
-                            "예: /add 삼성전자 71000 10";
-                }
+        // 실시간 알림 구독 (가격 변동 시에만 알림, 포트폴리오 정보 포함)
+        registry.register(Command.named("/alert")
+                .requiresChat("알림 설정")
+                .requiresArgs("/alert <종목명>\n예: /alert 삼성전자, /alert 삼성전자 >=75000, /alert list")
+                .handleAsync(this::alert));
+
+        registry.register(Command.named("/unalert")
+                .requiresChat("알림 해제")
+                .optionalArgs()
+                .handle((stockName, chatId) -> stockName.isEmpty()
+                        ? stockAlertService.unsubscribe(chatId)
+                        : stockAlertService.unsubscribe(chatId, stockName)));
+
+        // 조건 알림 목록 / 삭제
+        registry.register(Command.named("/rules")
+                .requiresChat("조회")
+                .handle((args, chatId) -> stockAlertService.getRules(chatId)));
+
+        registry.register(Command.named("/unrule")
+                .requiresChat("삭제")
+                .requiresArgs("/unrule <번호>\n예: /unrule 3")
+                .handle(this::removeRule));
+
+        // 연속 모니터링 (종목별 간격으로 계속 알림, 포트폴리오 정보 포함)
+        registry.register(Command.named("/monitor")
+                .requiresChat("모니터링 시작")
+                .requiresArgs("/monitor <종목명>")
+                .handle((stockName, chatId) -> monitoringService.startMonitoring(chatId, stockName)));
+
+        registry.register(Command.named("/unmonitor")
+                .requiresChat("중지")
+                .requiresArgs("/unmonitor <종목명>")
+                .handle((stockName, chatId) -> monitoringService.stopMonitoring(chatId, stockName)));
+
+        // 라이브 모니터링 (메시지 하나를 계속 고침, "/live off"로 해제)
+        registry.register(Command.named("/live")
+                .requiresChat("라이브 모니터링")
+                .requiresArgs("/live <종목명> 또는 /live off")
+                .handle((stockName, chatId) -> stockName.equals("off")
+                        ? monitoringService.stopLive(chatId)
+                        : monitoringService.startLive(chatId, stockName)));
+
+        // 대시보드 (여러 종목을 표 하나로, 인자가 없으면 포트폴리오 전체)
+        registry.register(Command.named("/dashboard")
+                .requiresChat("대시보드 시작")
+                .optionalArgs()
+                .handleAsync((stockNames, chatId) -> monitoringService.startDashboard(chatId, stockNames)));
 
-                String stockName = parts[0];
-                double buyPrice = Double.parseDouble(parts[1]);
-                int quantity = Integer.parseInt(parts[2]);
+        // 모니터링/알림 중지
+        registry.register(Command.named("/stop")
+                .requiresChat("중지")
+                .handle((args, chatId) -> stopAll(chatId)));
 
-                return portfolioService.addStock(chatId, stockName, buyPrice, quantity);
+        // 상태 확인
+        registry.register(Command.named("/status", "/mystatus")
+                .requiresChat("상태 조회")
+                .handle((args, chatId) -> getStatus(chatId)));
 
-            } catch (NumberFormatException e) {
-                return "❌ 매수가와 수량은 숫자여야 합니다.\n" +
-                        "예: /add 삼성전자 71000 10";
-            }
-        }
+        // 도움말
+        registry.register(Command.named("/help", "/start")
+                .handle((args, chatId) -> HELP_TEXT));
 
-        // ⭐ 포트폴리오에서 주식 삭제
-        if (message.startsWith("/remove ")) {
-            if (chatId == null) {
-                return "❌ 포트폴리오 삭제 실패: chatId가 필요합니다.";
-            }
-            String stockName = message.substring(8).trim();
-            return portfolioService.removeStock(chatId, stockName);
-        }
+        // API 테스트 (개발자 전용)
+        registry.register(Command.named("/test")
+                .developerOnly()
+                .handle((args, chatId) -> diagnosticService.runDiagnostics()));
 
-        // ⭐ 내 포트폴리오 조회
-        if (message.equals("/portfolio") || message.equals("/mystock")) {
-            if (chatId == null) {
-                return "❌ 포트폴리오 조회 실패: chatId가 필요합니다.";
-            }
-            return portfolioService.getPortfolio(chatId);
-        }
+        registry.register(Command.named("/quicktest")
+                .developerOnly()
+                .handle((args, chatId) -> quickTest()));
+    }
 
-        // 주식 조회 명령어 (포트폴리오 정보 포함)
-        if (message.startsWith("/stock ") || message.startsWith("/주식 ")) {
-            String stockName = message.substring(message.indexOf(" ") + 1).trim();
-            return stockService.getStockPrice(stockName, chatId);
+    private String selectSearchResult(String text, Long chatId) {
+        if (chatId == null) {
+            return UNKNOWN_COMMAND;
         }
 
-        // 여러 종목 조회
-        if (message.startsWith("/stocks ")) {
-            String stockNames = message.substring(8).trim();
-            String[] stocks = stockNames.split(",");
-            return stockService.getMultipleStocks(stocks);
+        int index;
+        try {
+            index = Integer.parseInt(text);
+        } catch (NumberFormatException e) {
+            index = -1;  // 너무 큰 숫자
         }
 
-        // 시장 지수
-        if (message.equals("/market") || message.equals("/지수")) {
-            return stockService.getMarketIndex();
-        }
+        // 검색 결과 캐시에서 가져오기
+        var searchResult = stockService.getSearchResultByIndex(chatId, index);
 
-        // 인기 종목
-        if (message.equals("/popular") || message.equals("/인기")) {
-            return stockService.getPopularStocks();
+        if (searchResult == null) {
+            return "❌ 검색 결과가 없습니다.\n\n" +
+                    "💡 먼저 /search 명령어로 종목을 검색하세요.\n" +
+                    "예: /search 현대\n\n" +
+                    "검색 결과는 5분간 유지됩니다.";
         }
 
-        // 지원 종목 리스트
-        if (message.equals("/list")) {
-            return stockService.getStockList();
-        }
+        // 선택된 종목 조회
+        return stockService.getStockPrice(searchResult.name, chatId);
+    }
 
-        // 실시간 알림 구독 (가격 변동 시에만 알림, 포트폴리오 정보 포함)
-        if (message.startsWith("/alert ")) {
-            if (chatId == null) {
-                return "❌ 알림 설정 실패: chatId가 필요합니다.";
+    private String addStock(String args, Long chatId) {
+        try {
+            String[] parts = args.split("\\s+");
+            if (parts.length != 3) {
+                return "❌ 형식이 올바르지 않습니다.\n\n" +
+                        "사용법: /add <종목명> <매수가> <수량>\n" +
+                        "예: /add 삼성전자 71000 10";
             }
-            String stockName = message.substring(7).trim();
-            return stockAlertService.subscribe(chatId, stockName);
-        }
 
-        // 연속 모니터링 시작 (10초마다 무조건 알림, 포트폴리오 정보 포함)
-        if (message.startsWith("/monitor ")) {
-            if (chatId == null) {
-                return "❌ 모니터링 시작 실패: chatId가 필요합니다.";
-            }
-            String stockName = message.substring(9).trim();
-            return monitoringService.startMonitoring(chatId, stockName);
-        }
+            String stockName = parts[0];
+            double buyPrice = Double.parseDouble(parts[1]);
+            int quantity = Integer.parseInt(parts[2]);
 
-        // 모니터링/알림 중지
-        if (message.equals("/stop")) {
-            if (chatId == null) {
-                return "❌ 중지 실패: chatId가 필요합니다.";
-            }
+            return portfolioService.addStock(chatId, stockName, buyPrice, quantity);
 
-            // 모니터링과 알림 모두 중지
-            String monitoringResult = monitoringService.stopMonitoring(chatId);
-            String alertResult = stockAlertService.unsubscribe(chatId);
+        } catch (NumberFormatException e) {
+            return "❌ 매수가와 수량은 숫자여야 합니다.\n" +
+                    "예: /add 삼성전자 71000 10";
+        }
+    }
 
-            if (monitoringResult.contains("진행 중인") && alertResult.contains("구독 중인")) {
-                return "❌ 실행 중인 모니터링이나 알림이 없습니다.";
-            }
+    private CompletableFuture<String> alert(String args, Long chatId) {
+        // 알림 목록
+        if (args.equals("list")) {
+            return CompletableFuture.completedFuture(stockAlertService.getAlertList(chatId));
+        }
 
-            StringBuilder result = new StringBuilder();
-            if (!monitoringResult.contains("진행 중인")) {
-                result.append(monitoringResult).append("\n");
-            }
-            if (!alertResult.contains("구독 중인")) {
-                result.append(alertResult);
-            }
+        // 조건 알림 (예: /alert 삼성전자 >=75000)
+        if (StockAlertService.isRuleCommand(args)) {
+            return CompletableFuture.completedFuture(stockAlertService.addRule(chatId, args));
+        }
+        return stockAlertService.subscribe(chatId, args);
+    }
 
-            return result.toString().trim();
+    private String removeRule(String args, Long chatId) {
+        try {
+            int ruleId = Integer.parseInt(args.replace("#", ""));
+            return stockAlertService.removeRule(chatId, ruleId);
+        } catch (NumberFormatException e) {
+            return "❌ 사용법: /unrule <번호>\n예: /unrule 3";
         }
+    }
 
-        // 알림 구독 취소
-        if (message.equals("/unalert")) {
-            if (chatId == null) {
-                return "❌ 알림 해제 실패: chatId가 필요합니다.";
-            }
-            return stockAlertService.unsubscribe(chatId);
+    private String stopAll(Long chatId) {
+        // 모니터링과 알림 모두 중지
+        String monitoringResult = monitoringService.stopMonitoring(chatId);
+        String alertResult = stockAlertService.unsubscribe(chatId);
+        int ruleCount = stockAlertService.removeAllRules(chatId);
+
+        if (monitoringResult.contains("진행 중인") && alertResult.contains("구독 중인") && ruleCount == 0) {
+            return "❌ 실행 중인 모니터링이나 알림이 없습니다.";
         }
 
-        // 상태 확인
-        if (message.equals("/status") || message.equals("/mystatus")) {
-            if (chatId == null) {
-                return "❌ 상태 조회 실패: chatId가 필요합니다.";
-            }
+        StringBuilder result = new StringBuilder();
+        if (!monitoringResult.contains("진행 중인")) {
+            result.append(monitoringResult).append("\n");
+        }
+        if (!alertResult.contains("구독 중인")) {
+            result.append(alertResult).append("\n");
+        }
+        if (ruleCount > 0) {
+            result.append("❌ 조건 알림 ").append(ruleCount).append("개가 해제되었습니다.");
+        }
 
-            String alertStatus = stockAlertService.getSubscriptionStatus(chatId);
-            String monitorStatus = monitoringService.getMonitoringStatus(chatId);
-            int portfolioCount = portfolioService.getStockCount(chatId);
+        return result.toString().trim();
+    }
 
-            StringBuilder status = new StringBuilder("📊 내 현황\n\n");
+    private String getStatus(Long chatId) {
+        String alertStatus = stockAlertService.getSubscriptionStatus(chatId);
+        String monitorStatus = monitoringService.getMonitoringStatus(chatId);
+        int portfolioCount = portfolioService.getStockCount(chatId);
 
-            // 포트폴리오 상태
-            status.append("💼 포트폴리오:\n");
-            status.append("• 보유 종목 수: ").append(portfolioCount).append("개\n\n");
+        StringBuilder status = new StringBuilder("📊 내 현황\n\n");
 
-            // 알림 상태
-            status.append("🔔 가격 변동 알림:\n");
-            if (alertStatus.contains("구독 중")) {
-                status.append(alertStatus).append("\n\n");
-            } else {
-                status.append("• 없음\n\n");
-            }
+        // 장 상태 (장 마감 중에는 알림/모니터링이 거의 멈춤)
+        status.append("🕘 장 상태: ").append(marketCalendar.describe()).append("\n\n");
 
-            // 모니터링 상태
-            status.append("🔄 연속 모니터링:\n");
-            if (monitorStatus.contains("모니터링 중")) {
-                status.append(monitorStatus);
-            } else {
-                status.append("• 없음");
-            }
+        // 포트폴리오 상태
+        status.append("💼 포트폴리오:\n");
+        status.append("• 보유 종목 수: ").append(portfolioCount).append("개\n\n");
 
-            return status.toString();
+        // 알림 상태
+        status.append("🔔 가격 변동 알림:\n");
+        if (alertStatus.contains("구독 중")) {
+            status.append(alertStatus).append("\n\n");
+        } else {
+            status.append("• 없음\n\n");
         }
 
-        // 도움말
-        if (message.equals("/help") || message.equals("/start")) {
-            return """
-                    📱 텔레그램 주식 봇
-                    
-                    🔍 종목 검색
-                    /search <키워드> - 종목 검색 (부분검색 가능)
-                    /stock <종목명> - 주식 현재가 조회
-                    
-                    📊 시장 정보
-                    /market - 코스피/코스닥 지수
-                    /popular - 인기 검색 종목
-                    
-                    💼 포트폴리오
-                    /add <종목명> <매수가> <수량> - 주식 추가
-                    /remove <종목명> - 주식 삭제
-                    /portfolio - 내 포트폴리오
-                    
-                    🔔 알림/모니터링
-                    /alert <종목명> - 가격 변동 알림
-                    /monitor <종목명> - 10초마다 모니터링
-                    /stop - 알림/모니터링 중지
-                    /status - 현재 상태
-                    
-                    💡 사용 예시
-                    /search 현대 → 현대 관련 종목 검색
-                    /stock 삼성전자 → 시세 조회
-                    /add 카카오 50000 5 → 포트폴리오 추가
-                    """;
+        // 모니터링 상태
+        status.append("🔄 연속 모니터링:\n");
+        if (monitorStatus.contains("모니터링 중")) {
+            status.append(monitorStatus);
+        } else {
+            status.append("• 없음");
         }
 
-        // API 테스트 명령어 (개발자 전용)
-        if (message.equals("/test")) {
-            // 개발자 권한 확인
-            if (chatId == null || !chatId.equals(DEVELOPER_CHAT_ID)) {
-                return "❌ 이 명령어는 개발자만 사용할 수 있습니다.";
+        return status.toString();
+    }
+
+    private String quickTest() {
+        try {
+            String testUrl = "https://polling.finance.naver.com/api/realtime?query=SERVICE_ITEM:005930";
+            String response = restTemplate.getForObject(testUrl, String.class);
+
+            if (response == null) {
+                return "❌ API 응답 없음";
             }
 
-            return diagnosticService.runDiagnostics();
+            return "✅ API 정상 작동\n\n" +
+                    "URL: " + testUrl + "\n\n" +
+                    "응답 길이: " + response.length() + "자\n\n" +
+                    "응답 내용 (처음 500자):\n" +
+                    response.substring(0, Math.min(500, response.length()));
+
+        } catch (Exception e) {
+            return "❌ API 테스트 실패\n\n" +
+                    "오류: " + e.getClass().getSimpleName() + "\n" +
+                    "메시지: " + e.getMessage();
         }
+    }
 
-        // 빠른 API 테스트 (개발자 전용)
-        if (message.equals("/quicktest")) {
-            if (chatId == null || !chatId.equals(DEVELOPER_CHAT_ID)) {
-                return "❌ 이 명령어는 개발자만 사용할 수 있습니다.";
+    private static int indexOfWhitespace(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (Character.isWhitespace(text.charAt(i))) {
+                return i;
             }
+        }
+        return -1;
+    }
 
-            try {
-                String testUrl = "https://polling.finance.naver.com/api/realtime?query=SERVICE_ITEM:005930";
-                org.springframework.web.client.RestTemplate restTemplate = new org.springframework.web.client.RestTemplate();
-                String response = restTemplate.getForObject(testUrl, String.class);
-
-                if (response == null) {
-                    return "❌ API 응답 없음";
-                }
-
-                return "✅ API 정상 작동\n\n" +
-                        "URL: " + testUrl + "\n\n" +
-                        "응답 길이: " + response.length() + "자\n\n" +
-                        "응답 내용 (처음 500자):\n" +
-                        response.substring(0, Math.min(500, response.length()));
-
-            } catch (Exception e) {
-                return "❌ API 테스트 실패\n\n" +
-                        "오류: " + e.getClass().getSimpleName() + "\n" +
-                        "메시지: " + e.getMessage();
+    private static boolean isDigits(String text) {
+        if (text.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
             }
         }
-
-        return "❓ 알 수 없는 명령어입니다.\n/help를 입력하여 사용법을 확인하세요.";
+        return true;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,332 @@
+package com.example.Tbot.telegram;
+
+import org.telegram.telegrambots.meta.api.methods.BotApiMethod;
+import org.telegram.telegrambots.meta.exceptions.TelegramApiException;
+import org.telegram.telegrambots.meta.exceptions.TelegramApiRequestException;
+
+import java.io.Serializable;
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 텔레그램 발신 큐
+ * 호출한 스레드는 넣기만 하고 바로 돌아오고, 전송 스레드가 속도 제한을 지키며 보냄
+ * - 채팅별 줄(lane): 같은 채팅은 순서대로, 채팅당 최소 간격 (텔레그램 약 1건/초)
+ * - 전체 토큰 버킷 (텔레그램 약 30건/초)
+ * - 429 응답은 retry_after만큼 그 채팅과 전체 전송을 함께 쉬고 다시 보냄 (봇 전체 속도 제한인 경우가 많음)
+ * - 그 밖의 일시 오류는 지수 백오프로 재시도
+ */
+final class OutboundQueue {
+
+    /**
+     * 실제 전송 (TbotTelegram.execute)
+     */
+    interface Sender {
+        <T extends Serializable> T send(BotApiMethod<T> method) throws TelegramApiException;
+    }
+
+    private static final long BASE_BACKOFF_MS = 1000;
+    private static final long MAX_BACKOFF_MS = 30000;
+
+    // 이만큼 넣을 때마다 쉬는 채팅 줄 정리
+    private static final int SWEEP_EVERY = 1024;
+
+    private final Sender sender;
+    private final int workers;
+    private final long perChatIntervalMs;
+    private final int maxAttempts;
+    private final int maxQueue;
+    private final TokenBucket globalBucket;
+
+    private final Map<Long, Lane> lanes = new ConcurrentHashMap<>();
+    private final DelayQueue<Lane> ready = new DelayQueue<>();
+    private final AtomicInteger depth = new AtomicInteger();
+    private final AtomicLong enqueued = new AtomicLong();
+    private Thread[] threads = new Thread[0];
+    private volatile boolean running;
+
+    // 통계
+    private final AtomicLong sent = new AtomicLong();
+    private final AtomicLong retried = new AtomicLong();
+    private final AtomicLong rateLimited = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+
+    OutboundQueue(Sender sender, int workers, double globalPerSecond, long perChatIntervalMs,
+                  int maxAttempts, int maxQueue) {
+        this.sender = sender;
+        this.workers = Math.max(1, workers);
+        this.perChatIntervalMs = perChatIntervalMs;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.maxQueue = maxQueue;
+        this.globalBucket = new TokenBucket(globalPerSecond);
+    }
+
+    /**
+     * 보낼 요청 한 건 (결과는 future로)
+     */
+    private static final class Request<T extends Serializable> {
+        final long chatId;
+        final BotApiMethod<T> method;
+        final CompletableFuture<T> result = new CompletableFuture<>();
+        int attempts;
+
+        Request(long chatId, BotApiMethod<T> method) {
+            this.chatId = chatId;
+            this.method = method;
+        }
+
+        void send(Sender sender) throws TelegramApiException {
+            result.complete(sender.send(method));
+        }
+    }
+
+    /**
+     * 채팅별 대기 줄 (한 번에 한 전송 스레드만 처리)
+     */
+    private static final class Lane implements Delayed {
+        final long chatId;
+        final ArrayDeque<Request<?>> pending = new ArrayDeque<>();
+        long readyAt;       // 다음 전송 가능 시각
+        boolean scheduled;  // ready 큐에 들어 있거나 전송 스레드가 처리 중
+        boolean retired;    // 정리되어 lanes에서 빠짐 (새 줄을 만들어야 함)
+
+        Lane(long chatId) {
+            this.chatId = chatId;
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(readyAt - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(readyAt, ((Lane) other).readyAt);
+        }
+    }
+
+    void start() {
+        running = true;
+        threads = new Thread[workers];
+        for (int i = 0; i < workers; i++) {
+            threads[i] = new Thread(this::work, "tg-send-" + (i + 1));
+            threads[i].setDaemon(true);
+            threads[i].start();
+        }
+        System.out.println("📮 발신 큐 시작: 전송 스레드 " + workers + "개");
+    }
+
+    void stop() {
+        running = false;
+        for (Thread thread : threads) {
+            thread.interrupt();
+        }
+    }
+
+    /**
+     * 요청 넣기 (바로 반환, 큐가 가득 차면 실패한 future)
+     */
+    <T extends Serializable> CompletableFuture<T> enqueue(long chatId, BotApiMethod<T> method) {
+        Request<T> request = new Request<>(chatId, method);
+        if (depth.incrementAndGet() > maxQueue) {
+            depth.decrementAndGet();
+            dropped.incrementAndGet();
+            System.err.println("❌ 발신 큐 가득 참 (" + maxQueue + "건) - chatId " + chatId + " 메시지 버림");
+            request.result.completeExceptionally(new IllegalStateException("발신 큐 가득 참"));
+            return request.result;
+        }
+
+        if (enqueued.incrementAndGet() % SWEEP_EVERY == 0) {
+            sweepIdleLanes();
+        }
+
+        while (true) {
+            Lane lane = lanes.computeIfAbsent(chatId, Lane::new);
+            synchronized (lane) {
+                if (lane.retired) {
+                    continue;
+                }
+                lane.pending.addLast(request);
+                if (!lane.scheduled) {
+                    lane.scheduled = true;
+                    lane.readyAt = Math.max(lane.readyAt, System.currentTimeMillis());
+                    ready.put(lane);
+                }
+                return request.result;
+            }
+        }
+    }
+
+    /**
+     * 비어 있고 최소 간격도 지난 채팅 줄 정리 (다음 메시지가 오면 새 줄)
+     */
+    private void sweepIdleLanes() {
+        long now = System.currentTimeMillis();
+        for (Lane lane : lanes.values()) {
+            synchronized (lane) {
+                if (!lane.scheduled && lane.pending.isEmpty() && lane.readyAt <= now) {
+                    lane.retired = true;
+                    lanes.remove(lane.chatId, lane);
+                }
+            }
+        }
+    }
+
+    /**
+     * 전송 스레드: 보낼 수 있게 된 채팅 줄에서 한 건씩 보냄
+     */
+    private void work() {
+        while (running) {
+            Lane lane;
+            try {
+                lane = ready.take();
+                globalBucket.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+
+            Request<?> request;
+            synchronized (lane) {
+                request = lane.pending.pollFirst();
+            }
+            long retryDelay = request != null ? deliver(request) : -1;
+
+            synchronized (lane) {
+                if (retryDelay >= 0) {
+                    lane.pending.addFirst(request);  // 순서 유지 (같은 채팅의 다음 메시지보다 먼저)
+                } else if (request != null) {
+                    depth.decrementAndGet();
+                }
+                lane.readyAt = System.currentTimeMillis() + Math.max(perChatIntervalMs, retryDelay);
+
+                if (!lane.pending.isEmpty()) {
+                    ready.put(lane);
+                } else {
+                    lane.scheduled = false;
+                }
+            }
+        }
+    }
+
+    /**
+     * 한 건 전송
+     * @return 다시 보낼 요청이면 기다릴 시간(ms), 끝난 요청(성공/포기)이면 -1
+     */
+    private long deliver(Request<?> request) {
+        request.attempts++;
+        try {
+            request.send(sender);
+            sent.incrementAndGet();
+            return -1;
+
+        } catch (TelegramApiRequestException e) {
+            Integer code = e.getErrorCode();
+            Integer retryAfter = e.getParameters() != null ? e.getParameters().getRetryAfter() : null;
+            if (code != null && code == 429 && request.attempts < maxAttempts) {
+                rateLimited.incrementAndGet();
+                retried.incrementAndGet();
+                long wait = (retryAfter != null ? retryAfter : 1) * 1000L;
+                globalBucket.pauseUntil(System.currentTimeMillis() + wait);
+                System.err.println("⏳ 텔레그램 속도 제한 (chatId " + request.chatId + ") - 전체 전송 " + wait + "ms 멈춤 후 재시도");
+                return wait;
+            }
+            if (code != null && code >= 400 && code < 500 && code != 429) {
+                return fail(request, e);  // 잘못된 요청/차단 등은 다시 보내도 같음
+            }
+            return retryOrFail(request, e);
+
+        } catch (Exception e) {
+            return retryOrFail(request, e);
+        }
+    }
+
+    private long retryOrFail(Request<?> request, Exception e) {
+        if (request.attempts >= maxAttempts) {
+            return fail(request, e);
+        }
+        retried.incrementAndGet();
+        long backoff = Math.min(MAX_BACKOFF_MS, BASE_BACKOFF_MS << (request.attempts - 1));
+        System.err.println("🔁 텔레그램 전송 재시도 (chatId " + request.chatId + ", " + request.attempts + "/" +
+                maxAttempts + ", " + backoff + "ms 후): " + e.getMessage());
+        return backoff;
+    }
+
+    private long fail(Request<?> request, Exception e) {
+        failed.incrementAndGet();
+        System.err.println("❌ 텔레그램 전송 실패 (chatId " + request.chatId + ", " + request.attempts + "회 시도): " +
+                e.getMessage());
+        request.result.completeExceptionally(e);
+        return -1;
+    }
+
+    /**
+     * 큐 현황 (진단용)
+     */
+    String getStats() {
+        return String.format(
+                "   └ 대기: %,d건 (채팅 %,d개)\n" +
+                        "   └ 전송: %,d | 재시도: %,d (429: %,d) | 실패: %,d | 버림: %,d",
+                depth.get(), lanes.size(), sent.get(), retried.get(), rateLimited.get(), failed.get(), dropped.get());
+    }
+
+    int depth() {
+        return depth.get();
+    }
+
+    /**
+     * 전체 초당 전송 제한 (토큰 버킷, 1초치만큼 몰아서 보낼 수 있음)
+     * 429를 받으면 retry_after가 지날 때까지 모든 전송 스레드가 멈춤
+     */
+    private static final class TokenBucket {
+        private final double ratePerMs;
+        private final double capacity;
+        private double tokens;
+        private long refilledAt = System.currentTimeMillis();
+        private long pausedUntil;
+
+        TokenBucket(double perSecond) {
+            this.ratePerMs = perSecond / 1000;
+            this.capacity = Math.max(1, perSecond);
+            this.tokens = capacity;
+        }
+
+        /**
+         * until까지 전송 멈춤 (멈춘 뒤에도 몰아서 보내지 않도록 토큰을 비움)
+         */
+        synchronized void pauseUntil(long until) {
+            pausedUntil = Math.max(pausedUntil, until);
+            tokens = 0;
+            refilledAt = pausedUntil;
+        }
+
+        void acquire() throws InterruptedException {
+            while (true) {
+                long wait;
+                synchronized (this) {
+                    long now = System.currentTimeMillis();
+                    if (now < pausedUntil) {
+                        wait = pausedUntil - now;
+                    } else {
+                        tokens = Math.min(capacity, tokens + (now - refilledAt) * ratePerMs);
+                        refilledAt = now;
+                        if (tokens >= 1) {
+                            tokens -= 1;
+                            return;
+                        }
+                        wait = (long) Math.ceil((1 - tokens) / ratePerMs);
+                    }
+                }
+                Thread.sleep(Math.max(1, wait));
+            }
+        }
+    }
+}
@@ -1,10 +1,20 @@
 package com.example.Tbot.telegram;
 
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.telegram.telegrambots.bots.TelegramLongPollingBot;
+import org.telegram.telegrambots.meta.api.methods.BotApiMethod;
 import org.telegram.telegrambots.meta.api.methods.send.SendMessage;
+import org.telegram.telegrambots.meta.api.methods.updatingmessages.EditMessageText;
 import org.telegram.telegrambots.meta.api.objects.Update;
+import org.telegram.telegrambots.meta.exceptions.TelegramApiException;
+import org.telegram.telegrambots.meta.exceptions.TelegramApiRequestException;
+
+import java.io.Serializable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 @Component
 public class TbotTelegram extends TelegramLongPollingBot {
@@ -17,8 +27,39 @@ public class TbotTelegram extends TelegramLongPollingBot {
 
     private final CommandRouter commandRouter;
 
-    public TbotTelegram(CommandRouter commandRouter) {
+    // 발신 큐 (보내는 스레드를 막지 않고, 속도 제한을 지키며 전송)
+    private final OutboundQueue outbound;
+
+    // 수신 업데이트 분배기 (채팅별 순서 유지, 채팅끼리는 동시 처리)
+    private final UpdateDispatcher dispatcher;
+
+    public TbotTelegram(CommandRouter commandRouter,
+                        @Value("${telegram.outbound.workers:4}") int workers,
+                        @Value("${telegram.outbound.global-per-sec:30}") double globalPerSecond,
+                        @Value("${telegram.outbound.per-chat-interval-ms:1000}") long perChatIntervalMs,
+                        @Value("${telegram.outbound.max-attempts:4}") int maxAttempts,
+                        @Value("${telegram.outbound.max-queue:10000}") int maxQueue,
+                        @Value("${telegram.dispatch.stripes:16}") int dispatchStripes,
+                        @Value("${telegram.dispatch.queue-per-stripe:100}") int dispatchQueuePerStripe) {
         this.commandRouter = commandRouter;
+        this.outbound = new OutboundQueue(this::executeMethod, workers, globalPerSecond, perChatIntervalMs,
+                maxAttempts, maxQueue);
+        this.dispatcher = new UpdateDispatcher(dispatchStripes, dispatchQueuePerStripe);
+    }
+
+    @PostConstruct
+    public void startOutbound() {
+        outbound.start();
+    }
+
+    @PreDestroy
+    public void stopOutbound() {
+        dispatcher.stop();
+        outbound.stop();
+    }
+
+    private <T extends Serializable> T executeMethod(BotApiMethod<T> method) throws TelegramApiException {
+        return execute(method);
     }
 
     @Override
@@ -46,29 +87,53 @@ public class TbotTelegram extends TelegramLongPollingBot {
         System.out.println("📩 수신 메시지: " + text);
         System.out.println("📩 Chat ID: " + chatId);
 
+        // 수신 스레드는 넘기기만 하고 바로 다음 업데이트로 (처리는 채팅별 줄에서)
+        if (!dispatcher.dispatch(chatId, () -> handleMessage(text, chatId))) {
+            System.err.println("⚠️ 처리 대기 초과 - 요청 버림 (chatId " + chatId + ")");
+            sendMessage(chatId, "⚠️ 요청이 많아 처리하지 못했습니다. 잠시 후 다시 시도해주세요.");
+        }
+    }
+
+    /**
+     * 명령 처리 후 응답 전송 (채팅별 줄의 스레드에서 실행)
+     * 시세 조회를 기다리는 명령은 응답이 준비되면 전송 (줄의 스레드는 바로 다음 요청으로)
+     */
+    private void handleMessage(String text, Long chatId) {
         try {
             // ⭐ chatId를 함께 전달 (알림 기능에 필요)
             System.out.println("🔄 CommandRouter 호출 시작");
-            String response = commandRouter.route(text, chatId);
+            commandRouter.route(text, chatId).whenComplete((response, error) -> {
+                if (error != null) {
+                    replyError(chatId, error instanceof CompletionException && error.getCause() != null
+                            ? error.getCause() : error);
+                } else {
+                    reply(chatId, response);
+                }
+            });
+        } catch (Exception e) {
+            replyError(chatId, e);
+        }
+    }
 
-            System.out.println("✅ CommandRouter 응답 받음");
-            System.out.println("📤 응답 내용: " + (response != null ? response.substring(0, Math.min(50, response.length())) + "..." : "null"));
+    private void reply(Long chatId, String response) {
+        System.out.println("✅ CommandRouter 응답 받음");
+        System.out.println("📤 응답 내용: " + (response != null ? response.substring(0, Math.min(50, response.length())) + "..." : "null"));
 
-            if (response == null || response.trim().isEmpty()) {
-                System.err.println("❌ 응답이 비어있음!");
-                response = "⚠️ 응답을 생성하지 못했습니다. 다시 시도해주세요.";
-            }
+        if (response == null || response.trim().isEmpty()) {
+            System.err.println("❌ 응답이 비어있음!");
+            response = "⚠️ 응답을 생성하지 못했습니다. 다시 시도해주세요.";
+        }
 
-            sendMessage(chatId, response);
+        sendMessage(chatId, response);
+    }
 
-        } catch (Exception e) {
-            System.err.println("❌ 메시지 처리 중 오류 발생");
-            e.printStackTrace();
+    private void replyError(Long chatId, Throwable e) {
+        System.err.println("❌ 메시지 처리 중 오류 발생");
+        e.printStackTrace();
 
-            sendMessage(chatId, "❌ 오류가 발생했습니다.\n" +
-                    "오류 내용: " + e.getMessage() + "\n\n" +
-                    "잠시 후 다시 시도해주세요.");
-        }
+        sendMessage(chatId, "❌ 오류가 발생했습니다.\n" +
+                "오류 내용: " + e.getMessage() + "\n\n" +
+                "잠시 후 다시 시도해주세요.");
     }
 
     private void sendMessage(Long chatId, String message) {
@@ -111,17 +176,11 @@ public class TbotTelegram extends TelegramLongPollingBot {
                         (message.length() / MAX_MESSAGE_LENGTH) + 1,
                         part);
 
+                // 같은 채팅 줄에 순서대로 들어가므로 간격은 발신 큐가 지킴
                 sendSingleMessage(chatId, partMessage);
 
                 start = end;
                 partNumber++;
-
-                // 연속 전송 시 너무 빠르지 않도록 약간의 딜레이
-                try {
-                    Thread.sleep(100);
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                }
             }
         }
     }
@@ -132,14 +191,9 @@ public class TbotTelegram extends TelegramLongPollingBot {
                 .text(message)
                 .build();
 
-        try {
-            execute(sendMessage);
-            System.out.println("✅ 메시지 전송 성공");
-        } catch (Exception e) {
-            System.err.println("❌ 텔레그램 메시지 전송 실패");
-            System.err.println("❌ 에러 메시지: " + e.getMessage());
-            e.printStackTrace();
-        }
+        // 발신 큐에 넣고 바로 반환 (실패/재시도 로그는 발신 큐에서)
+        outbound.enqueue(chatId, sendMessage);
+        System.out.println("📮 메시지 발신 대기 (큐 " + outbound.depth() + "건)");
     }
 
     /**
@@ -150,4 +204,83 @@ public class TbotTelegram extends TelegramLongPollingBot {
         System.out.println("📨 외부에서 메시지 전송 요청");
         sendMessage(chatId, message);
     }
+
+    /**
+     * 메시지 한 개 전송 후 message_id (실패 시 null)
+     * 나중에 editMessage로 고칠 메시지용이라 분할하지 않고 최대 길이에서 자름
+     * (ContinuousMonitoringService 라이브 모드에서 사용)
+     */
+    public CompletableFuture<Integer> sendEditableMessage(Long chatId, String message) {
+        SendMessage sendMessage = SendMessage.builder()
+                .chatId(chatId.toString())
+                .text(truncate(message))
+                .build();
+
+        return outbound.enqueue(chatId, sendMessage)
+                .handle((sent, e) -> e == null && sent != null ? sent.getMessageId() : null);
+    }
+
+    /**
+     * 메시지 수정 결과
+     */
+    public enum EditResult {
+        EDITED,     // 고쳤음 (내용이 같아 고칠 게 없던 경우 포함)
+        GONE,       // 메시지가 지워졌거나 너무 오래되어 고칠 수 없음 (새로 보내야 함)
+        FAILED      // 속도 제한/네트워크/큐 가득 참 등 일시 실패 (같은 메시지로 다음에 다시)
+    }
+
+    /**
+     * 보낸 메시지 내용 수정 (editMessageText)
+     * 텔레그램이 400으로 "메시지 없음/고칠 수 없음"이라고 답한 경우만 GONE
+     */
+    public CompletableFuture<EditResult> editMessage(Long chatId, Integer messageId, String message) {
+        EditMessageText edit = EditMessageText.builder()
+                .chatId(chatId.toString())
+                .messageId(messageId)
+                .text(truncate(message))
+                .build();
+
+        return outbound.enqueue(chatId, edit)
+                .handle((edited, e) -> e == null ? EditResult.EDITED : classifyEditFailure(e));
+    }
+
+    static EditResult classifyEditFailure(Throwable e) {
+        Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+        if (!(cause instanceof TelegramApiRequestException)) {
+            return EditResult.FAILED;
+        }
+
+        TelegramApiRequestException request = (TelegramApiRequestException) cause;
+        String detail = request.getApiResponse() != null ? request.getApiResponse() : String.valueOf(request.getMessage());
+        if (request.getErrorCode() == null || request.getErrorCode() != 400) {
+            return EditResult.FAILED;
+        }
+        // 같은 내용으로 고치려 한 경우는 성공으로 취급
+        if (detail.contains("message is not modified")) {
+            return EditResult.EDITED;
+        }
+        if (detail.contains("message to edit not found") || detail.contains("message can't be edited")) {
+            return EditResult.GONE;
+        }
+        return EditResult.FAILED;
+    }
+
+    /**
+     * 발신 큐 현황 (진단용)
+     */
+    public String getOutboundStats() {
+        return outbound.getStats();
+    }
+
+    /**
+     * 수신 업데이트 분배 현황 (진단용)
+     */
+    public String getDispatchStats() {
+        return dispatcher.getStats();
+    }
+
+    private static String truncate(String message) {
+        final int MAX_MESSAGE_LENGTH = 4096;
+        return message.length() <= MAX_MESSAGE_LENGTH ? message : message.substring(0, MAX_MESSAGE_LENGTH - 1) + "…";
+    }
 }
\ No newline at end of file
@@ -1,28 +1,116 @@
 package com.example.Tbot.telegram;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.client.RestClientResponseException;
+import org.springframework.web.client.RestTemplate;
 import org.telegram.telegrambots.meta.TelegramBotsApi;
 import org.telegram.telegrambots.meta.exceptions.TelegramApiException;
 import org.telegram.telegrambots.updatesreceivers.DefaultBotSession;
 
+import java.util.regex.Pattern;
+
+/**
+ * 봇 업데이트 수신 방식 설정 (telegram.bot.mode)
+ * - polling: 롱 폴링 세션 (기본값, 등록 시 웹훅은 자동 해제)
+ * - webhook: 텔레그램이 TelegramWebhookController로 POST, url이 있으면 시작할 때 setWebhook 등록
+ */
 @Configuration
 public class TelegramBotConfig {
 
+    // 텔레그램 secret_token 허용 문자 (영문/숫자/_/-, 1~256자)
+    private static final Pattern SECRET_PATTERN = Pattern.compile("[A-Za-z0-9_-]{1,256}");
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
     private final TbotTelegram tbotTelegram;
+    private final RestTemplate restTemplate;
 
-    public TelegramBotConfig(TbotTelegram tbotTelegram) {
+    private final String mode;
+    private final String webhookUrl;
+    private final String webhookSecret;
+
+    public TelegramBotConfig(TbotTelegram tbotTelegram,
+                             RestTemplate restTemplate,
+                             @Value("${telegram.bot.mode:polling}") String mode,
+                             @Value("${telegram.webhook.url:}") String webhookUrl,
+                             @Value("${telegram.webhook.secret:}") String webhookSecret) {
         this.tbotTelegram = tbotTelegram;
+        this.restTemplate = restTemplate;
+        this.mode = mode.trim().toLowerCase();
+        this.webhookUrl = webhookUrl.trim();
+        this.webhookSecret = webhookSecret.trim();
+
+        if (!this.webhookSecret.isEmpty() && !SECRET_PATTERN.matcher(this.webhookSecret).matches()) {
+            throw new IllegalStateException("telegram.webhook.secret은 영문/숫자/_/- 1~256자여야 합니다");
+        }
     }
 
     @PostConstruct
     public void registerBot() {
+        if ("webhook".equals(mode)) {
+            registerWebhook();
+            return;
+        }
+        if (!"polling".equals(mode)) {
+            throw new IllegalStateException("알 수 없는 telegram.bot.mode: " + mode + " (polling 또는 webhook)");
+        }
+
         try {
             TelegramBotsApi botsApi = new TelegramBotsApi(DefaultBotSession.class);
             botsApi.registerBot(tbotTelegram);
-            System.out.println("✅ Telegram Bot 등록 완료");
+            System.out.println("✅ Telegram Bot 등록 완료 (롱 폴링)");
         } catch (TelegramApiException e) {
             e.printStackTrace();
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * 웹훅 모드: 비밀 토큰 없이는 시작하지 않음 (누구나 가짜 업데이트를 보낼 수 있게 됨)
+     */
+    private void registerWebhook() {
+        if (webhookSecret.isEmpty()) {
+            throw new IllegalStateException("웹훅 모드에는 telegram.webhook.secret이 필요합니다");
+        }
+        if (webhookUrl.isEmpty()) {
+            System.out.println("✅ Telegram Bot 웹훅 모드 (telegram.webhook.url 비어 있음 - setWebhook 등록은 생략)");
+            return;
+        }
+
+        // 토큰/비밀 토큰이 예외 메시지(요청 URL)에 남지 않도록 파라미터는 본문으로, 로그에는 예외 종류/상태만
+        MultiValueMap<String, String> form = new LinkedMultiValueMap<>();
+        form.add("url", webhookUrl);
+        form.add("secret_token", webhookSecret);
+
+        String response;
+        try {
+            response = restTemplate.postForObject(
+                    "https://api.telegram.org/bot{token}/setWebhook", form, String.class, tbotTelegram.getBotToken());
+        } catch (RestClientResponseException e) {
+            // 텔레그램 오류 응답 (본문에 ok=false와 설명)
+            response = e.getResponseBodyAsString();
+            if (response == null || response.isEmpty()) {
+                throw new IllegalStateException("웹훅 등록 실패: HTTP " + e.getStatusCode().value());
+            }
+        } catch (Exception e) {
+            throw new IllegalStateException("웹훅 등록 실패: " + e.getClass().getSimpleName());
+        }
+
+        JsonNode result;
+        try {
+            result = objectMapper.readTree(response);
+        } catch (Exception e) {
+            throw new IllegalStateException("웹훅 등록 실패: 응답 해석 불가 (" + e.getClass().getSimpleName() + ")");
+        }
+        if (!result.path("ok").asBoolean()) {
+            throw new IllegalStateException("웹훅 등록 실패: " + result.path("error_code").asText() + " " +
+                    result.path("description").asText());
+        }
+        System.out.println("✅ Telegram Bot 웹훅 등록 완료: " + webhookUrl);
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.Tbot.telegram;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+import org.telegram.telegrambots.meta.api.objects.Update;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * 웹훅 수신 (telegram.bot.mode=webhook 일 때만 등록)
+ * 텔레그램이 보내는 X-Telegram-Bot-Api-Secret-Token 헤더를 확인한 뒤
+ * 롱 폴링과 같은 TbotTelegram.onUpdateReceived로 넘기고 바로 200 응답 (처리는 채팅별 줄에서)
+ */
+@RestController
+@ConditionalOnProperty(name = "telegram.bot.mode", havingValue = "webhook")
+public class TelegramWebhookController {
+
+    static final String SECRET_HEADER = "X-Telegram-Bot-Api-Secret-Token";
+
+    private final TbotTelegram tbotTelegram;
+    private final byte[] secret;
+
+    public TelegramWebhookController(TbotTelegram tbotTelegram,
+                                     @Value("${telegram.webhook.secret:}") String secret) {
+        this.tbotTelegram = tbotTelegram;
+        this.secret = secret.trim().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @PostMapping("${telegram.webhook.path:/telegram/webhook}")
+    public ResponseEntity<Void> receive(@RequestHeader(value = SECRET_HEADER, required = false) String token,
+                                        @RequestBody Update update) {
+        if (!verify(token)) {
+            System.err.println("⚠️ 웹훅 비밀 토큰 불일치 - 요청 거부");
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        // 처리 중 오류가 나도 200 (텔레그램이 같은 업데이트를 계속 다시 보내지 않도록)
+        try {
+            tbotTelegram.onUpdateReceived(update);
+        } catch (Exception e) {
+            System.err.println("❌ 웹훅 업데이트 처리 오류: " + e.getMessage());
+        }
+        return ResponseEntity.ok().build();
+    }
+
+    /**
+     * 비밀 토큰 비교 (길이 외에는 비교 시간으로 알 수 없도록)
+     */
+    private boolean verify(String token) {
+        if (secret.length == 0 || token == null) {
+            return false;
+        }
+        return MessageDigest.isEqual(secret, token.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.Tbot.telegram;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 수신 업데이트 분배기
+ * chatId로 줄(stripe)을 골라 그 줄의 전용 스레드에서 처리
+ * - 같은 채팅은 항상 같은 줄이라 받은 순서대로 처리
+ * - 다른 채팅은 다른 줄에서 동시에 처리 (느린 /test, /popular가 다른 사용자를 막지 않음)
+ * - 줄마다 대기 건수 제한, 넘치면 그 요청은 처리하지 않고 버림 (메모리 폭주 방지)
+ */
+final class UpdateDispatcher {
+
+    private final ThreadPoolExecutor[] stripes;
+
+    private final AtomicLong dispatched = new AtomicLong();
+    private final AtomicLong shed = new AtomicLong();
+
+    UpdateDispatcher(int stripeCount, int queuePerStripe) {
+        this.stripes = new ThreadPoolExecutor[Math.max(1, stripeCount)];
+        for (int i = 0; i < stripes.length; i++) {
+            String name = "tg-update-" + (i + 1);
+            stripes[i] = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(Math.max(1, queuePerStripe)),
+                    runnable -> {
+                        Thread thread = new Thread(runnable, name);
+                        thread.setDaemon(true);
+                        return thread;
+                    },
+                    new ThreadPoolExecutor.AbortPolicy());
+        }
+    }
+
+    /**
+     * 처리 맡기기 (바로 반환)
+     * @return 줄이 가득 차서 버렸으면 false (호출한 쪽에서 사용자에게 알림)
+     */
+    boolean dispatch(long chatId, Runnable handler) {
+        try {
+            stripes[stripeOf(chatId)].execute(() -> {
+                try {
+                    handler.run();
+                } catch (Exception e) {
+                    System.err.println("❌ 업데이트 처리 오류 (chatId " + chatId + "): " + e.getMessage());
+                }
+            });
+            dispatched.incrementAndGet();
+            return true;
+        } catch (RejectedExecutionException e) {
+            shed.incrementAndGet();
+            return false;
+        }
+    }
+
+    private int stripeOf(long chatId) {
+        long h = chatId * 0x9E3779B97F4A7C15L;
+        return (int) ((h ^ (h >>> 32)) & 0x7fffffff) % stripes.length;
+    }
+
+    void stop() {
+        for (ThreadPoolExecutor stripe : stripes) {
+            stripe.shutdown();
+        }
+    }
+
+    /**
+     * 분배 현황 (진단용)
+     */
+    String getStats() {
+        int backlog = 0;
+        int busy = 0;
+        int maxBacklog = 0;
+        for (ThreadPoolExecutor stripe : stripes) {
+            int queued = stripe.getQueue().size();
+            backlog += queued;
+            maxBacklog = Math.max(maxBacklog, queued);
+            busy += stripe.getActiveCount();
+        }
+        return String.format(
+                "   └ 처리 중: %d / %d줄 | 대기: %,d건 (줄 최대 %,d건)\n" +
+                        "   └ 처리: %,d | 버림: %,d",
+                busy, stripes.length, backlog, maxBacklog, dispatched.get(), shed.get());
+    }
+}
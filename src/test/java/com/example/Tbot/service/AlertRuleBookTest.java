@@ -0,0 +1,130 @@
+package com.example.Tbot.service;
+
+import com.example.Tbot.service.AlertRuleBook.Metric;
+import com.example.Tbot.service.AlertRuleBook.Rule;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AlertRuleBookTest {
+
+    private static final String CODE = "005930";
+    private static final long CHAT = 1L;
+
+    @Test
+    void priceExactlyAtThresholdFiresOnce() {
+        AlertRuleBook book = new AlertRuleBook(30);
+        Rule rule = book.add(CHAT, CODE, "삼성전자", Metric.PRICE, true, 75000, 2);
+
+        assertEquals(List.of(), book.evaluate(price(74900)));
+        assertEquals(List.of(rule), book.evaluate(price(75000)));
+        // 기준 위에 머무는 동안은 다시 발동하지 않음
+        assertEquals(List.of(), book.evaluate(price(75000)));
+        assertEquals(List.of(), book.evaluate(price(76000)));
+        assertEquals(1, book.size());
+    }
+
+    @Test
+    void rearmsExactlyAtRearmLevelAndFiresAgain() {
+        AlertRuleBook book = new AlertRuleBook(30);
+        // 75,000원 이상, 2% 되돌아오면 재무장 -> 73,500원
+        Rule rule = book.add(CHAT, CODE, "삼성전자", Metric.PRICE, true, 75000, 2);
+        assertEquals(73500.0, rule.rearmLevel());
+
+        assertEquals(List.of(rule), book.evaluate(price(75000)));
+        assertEquals(List.of(), book.evaluate(price(73600)));
+        assertEquals(List.of(), book.evaluate(price(74900)));
+        // 재무장 기준을 넘지 않고 다시 올라가면 발동하지 않음
+        assertEquals(List.of(), book.evaluate(price(75500)));
+
+        assertEquals(List.of(), book.evaluate(price(73500)));
+        assertEquals(List.of(rule), book.evaluate(price(75000)));
+    }
+
+    @Test
+    void belowRuleRearmsWhenValueRisesBack() {
+        AlertRuleBook book = new AlertRuleBook(30);
+        Rule rule = book.add(CHAT, CODE, "삼성전자", Metric.PRICE, false, 70000, 10);
+        assertEquals(77000.0, rule.rearmLevel());
+
+        assertEquals(List.of(rule), book.evaluate(price(70000)));
+        assertEquals(List.of(), book.evaluate(price(69000)));
+        assertEquals(List.of(), book.evaluate(price(77000)));
+        assertEquals(List.of(rule), book.evaluate(price(69999)));
+    }
+
+    @Test
+    void changeRateRearmGapIsInPercentPoints() {
+        AlertRuleBook book = new AlertRuleBook(30);
+        Rule rule = book.add(CHAT, CODE, "삼성전자", Metric.CHANGE_RATE, true, 5, 1);
+        assertEquals(4.0, rule.rearmLevel());
+
+        assertEquals(List.of(rule), book.evaluate(changeRate(5)));
+        assertEquals(List.of(), book.evaluate(changeRate(4.5)));
+        assertEquals(List.of(), book.evaluate(changeRate(5.5)));
+        assertEquals(List.of(), book.evaluate(changeRate(4)));
+        assertEquals(List.of(rule), book.evaluate(changeRate(5)));
+    }
+
+    @Test
+    void ruleWithoutRearmIsRemovedAfterFiring() {
+        AlertRuleBook book = new AlertRuleBook(30);
+        Rule rule = book.add(CHAT, CODE, "삼성전자", Metric.VOLUME, true, 1_000_000, 0);
+
+        assertEquals(List.of(rule), book.evaluate(volume(1_000_000)));
+        assertEquals(0, book.size());
+        assertEquals(List.of(), book.rulesOf(CHAT));
+        assertTrue(book.codes().isEmpty());
+        assertEquals(List.of(), book.evaluate(volume(500_000)));
+        assertEquals(List.of(), book.evaluate(volume(2_000_000)));
+    }
+
+    @Test
+    void perChatCapAndOwnership() {
+        AlertRuleBook book = new AlertRuleBook(2);
+        Rule first = book.add(CHAT, CODE, "삼성전자", Metric.PRICE, true, 80000, 0);
+        Rule second = book.add(CHAT, CODE, "삼성전자", Metric.PRICE, false, 60000, 0);
+        assertNull(book.add(CHAT, CODE, "삼성전자", Metric.PRICE, true, 90000, 0));
+        assertNotNull(book.add(2L, CODE, "삼성전자", Metric.PRICE, true, 90000, 0));
+
+        assertEquals(List.of(first, second), book.rulesOf(CHAT));
+
+        // 다른 채팅의 규칙 번호로는 지울 수 없음
+        assertNull(book.remove(2L, first.id));
+        assertEquals(first, book.remove(CHAT, first.id));
+        assertEquals(List.of(), book.evaluate(price(85000)));
+        assertNotNull(book.add(CHAT, CODE, "삼성전자", Metric.PRICE, true, 90000, 0));
+
+        assertEquals(2, book.removeAll(CHAT));
+        assertEquals(1, book.size());
+    }
+
+    @Test
+    void removesRuleWaitingToRearm() {
+        AlertRuleBook book = new AlertRuleBook(30);
+        Rule rule = book.add(CHAT, CODE, "삼성전자", Metric.PRICE, true, 75000, 2);
+        book.evaluate(price(75000));
+
+        assertEquals(rule, book.remove(CHAT, rule.id));
+        assertTrue(book.codes().isEmpty());
+        book.evaluate(price(70000));
+        assertEquals(List.of(), book.evaluate(price(75000)));
+    }
+
+    private static Quote price(double price) {
+        return new Quote(CODE, "삼성전자", price, 0, 0, 0, 0);
+    }
+
+    private static Quote changeRate(double changeRate) {
+        return new Quote(CODE, "삼성전자", 70000, 0, changeRate, 0, 0);
+    }
+
+    private static Quote volume(long volume) {
+        return new Quote(CODE, "삼성전자", 70000, 0, 0, volume, 0);
+    }
+}
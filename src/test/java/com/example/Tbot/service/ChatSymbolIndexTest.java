@@ -0,0 +1,127 @@
+package com.example.Tbot.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ChatSymbolIndexTest {
+
+    // ChatSymbolIndex 초기 칸 수 (12개를 넘기 전에는 늘어나지 않음)
+    private static final int CAPACITY = 16;
+
+    @Test
+    void addIsIdempotentAndKeepsBothDirections() {
+        ChatSymbolIndex index = new ChatSymbolIndex();
+
+        assertTrue(index.add(1L, 30));
+        assertTrue(index.add(1L, 10));
+        assertFalse(index.add(1L, 30));
+        assertTrue(index.add(2L, 10));
+
+        assertArrayEquals(new int[]{10, 30}, index.symbolsOf(1L));
+        assertArrayEquals(new long[]{1L, 2L}, index.chatsOf(10));
+        assertTrue(index.contains(1L, 30));
+        assertFalse(index.contains(2L, 30));
+        assertEquals(3, index.subscriptionCount());
+        assertEquals(2, index.chatCount());
+    }
+
+    @Test
+    void deleteInMiddleOfWrappingClusterKeepsLaterKeysReachable() {
+        // 마지막 칸(15)에 모이는 chatId 4개 -> 15, 0, 1, 2 칸 (끝에서 처음으로 넘어감)
+        // 0번 칸이 원래 자리인 chatId 1개 -> 3번 칸으로 밀림
+        List<Long> wrapping = chatsWithHome(CAPACITY - 1, 4);
+        long homeZero = chatsWithHome(0, 1).get(0);
+
+        ChatSymbolIndex index = new ChatSymbolIndex();
+        for (int i = 0; i < wrapping.size(); i++) {
+            index.add(wrapping.get(i), 100 + i);
+        }
+        index.add(homeZero, 200);
+
+        // 군집 가운데(0번 칸) 삭제 -> 뒤 칸들이 당겨져야 함
+        assertTrue(index.remove(wrapping.get(1), 101));
+        assertArrayEquals(new int[0], index.symbolsOf(wrapping.get(1)));
+        assertArrayEquals(new int[]{100}, index.symbolsOf(wrapping.get(0)));
+        assertArrayEquals(new int[]{102}, index.symbolsOf(wrapping.get(2)));
+        assertArrayEquals(new int[]{103}, index.symbolsOf(wrapping.get(3)));
+        assertArrayEquals(new int[]{200}, index.symbolsOf(homeZero));
+
+        // 군집 맨 앞 삭제 후 다시 추가
+        assertArrayEquals(new int[]{100}, index.removeAll(wrapping.get(0)));
+        assertArrayEquals(new int[]{200}, index.symbolsOf(homeZero));
+        assertArrayEquals(new int[]{103}, index.symbolsOf(wrapping.get(3)));
+        assertTrue(index.add(wrapping.get(0), 100));
+        assertArrayEquals(new int[]{100}, index.symbolsOf(wrapping.get(0)));
+
+        assertEquals(4, index.chatCount());
+        assertEquals(4, index.subscriptionCount());
+        assertArrayEquals(new long[0], index.chatsOf(101));
+    }
+
+    @Test
+    void matchesReferenceMapUnderRandomAddsAndRemoves() {
+        Random random = new Random(7);
+        ChatSymbolIndex index = new ChatSymbolIndex();
+        Map<Long, TreeSet<Integer>> expected = new HashMap<>();
+
+        for (int step = 0; step < 20000; step++) {
+            long chatId = random.nextInt(300) - 150;  // 음수 chatId (그룹 채팅) 포함
+            int symbolId = random.nextInt(20);
+            int op = random.nextInt(10);
+
+            if (op < 6) {
+                boolean added = expected.computeIfAbsent(chatId, c -> new TreeSet<>()).add(symbolId);
+                assertEquals(added, index.add(chatId, symbolId));
+            } else if (op < 9) {
+                TreeSet<Integer> symbols = expected.get(chatId);
+                boolean removed = symbols != null && symbols.remove(symbolId);
+                if (symbols != null && symbols.isEmpty()) expected.remove(chatId);
+                assertEquals(removed, index.remove(chatId, symbolId));
+            } else {
+                TreeSet<Integer> symbols = expected.remove(chatId);
+                assertArrayEquals(toArray(symbols), index.removeAll(chatId));
+            }
+        }
+
+        assertEquals(expected.size(), index.chatCount());
+        for (long chatId = -150; chatId < 150; chatId++) {
+            assertArrayEquals(toArray(expected.get(chatId)), index.symbolsOf(chatId), "chatId " + chatId);
+        }
+        for (int symbolId = 0; symbolId < 20; symbolId++) {
+            List<Long> chats = new ArrayList<>();
+            for (Map.Entry<Long, TreeSet<Integer>> entry : expected.entrySet()) {
+                if (entry.getValue().contains(symbolId)) chats.add(entry.getKey());
+            }
+            assertArrayEquals(chats.stream().sorted().mapToLong(Long::longValue).toArray(), index.chatsOf(symbolId));
+        }
+    }
+
+    private static int[] toArray(TreeSet<Integer> symbols) {
+        return symbols == null ? new int[0] : symbols.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * 초기 칸 수에서 원래 자리가 home인 chatId (ChatSymbolIndex.slotOf와 같은 해시)
+     */
+    private static List<Long> chatsWithHome(int home, int count) {
+        List<Long> chats = new ArrayList<>();
+        for (long chatId = 1; chats.size() < count; chatId++) {
+            long h = chatId * 0x9E3779B97F4A7C15L;
+            if (((int) (h ^ (h >>> 32)) & (CAPACITY - 1)) == home) {
+                chats.add(chatId);
+            }
+        }
+        return chats;
+    }
+}
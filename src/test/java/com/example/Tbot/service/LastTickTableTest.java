@@ -0,0 +1,119 @@
+package com.example.Tbot.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LastTickTableTest {
+
+    // LastTickTable 초기 칸 수 (12개를 넘기 전에는 늘어나지 않음)
+    private static final int CAPACITY = 16;
+
+    @Test
+    void observeClassifiesChanges() {
+        LastTickTable table = new LastTickTable();
+
+        assertEquals(LastTickTable.FIRST, table.observe(1, 70000, 100, 1000));
+        assertEquals(LastTickTable.STALE, table.observe(1, 71000, 100, 1000));
+        assertEquals(LastTickTable.STALE, table.observe(1, 71000, 100, 999));
+        assertEquals(LastTickTable.UNCHANGED, table.observe(1, 70000, 100, 1001));
+        assertEquals(LastTickTable.VOLUME, table.observe(1, 70000, 150, 1002));
+        assertEquals(LastTickTable.PRICE, table.observe(1, 70100, 150, 1003));
+        assertEquals(70100.0, table.price(1));
+        assertEquals(1003L, table.timestamp(1));
+    }
+
+    @Test
+    void seedDoesNotOverwriteExistingTick() {
+        LastTickTable table = new LastTickTable();
+        table.seed(5, 100, 10, 1);
+        table.seed(5, 200, 20, 2);
+
+        assertEquals(100.0, table.price(5));
+        assertEquals(LastTickTable.PRICE, table.observe(5, 101, 10, 3));
+    }
+
+    @Test
+    void deleteInMiddleOfWrappingClusterKeepsLaterKeysReachable() {
+        // 마지막 칸(15)에 모이는 종목 4개 -> 15, 0, 1, 2 칸, 0번 칸이 원래 자리인 종목 -> 3번 칸
+        List<Integer> wrapping = symbolsWithHome(CAPACITY - 1, 4);
+        int homeZero = symbolsWithHome(0, 1).get(0);
+
+        LastTickTable table = new LastTickTable();
+        for (int i = 0; i < wrapping.size(); i++) {
+            table.observe(wrapping.get(i), 100 + i, i, 1);
+        }
+        table.observe(homeZero, 200, 0, 1);
+
+        table.remove(wrapping.get(1));
+        assertTrue(Double.isNaN(table.price(wrapping.get(1))));
+        assertEquals(100.0, table.price(wrapping.get(0)));
+        assertEquals(102.0, table.price(wrapping.get(2)));
+        assertEquals(103.0, table.price(wrapping.get(3)));
+        assertEquals(200.0, table.price(homeZero));
+
+        // 당겨진 칸의 거래량/시각도 함께 옮겨졌는지
+        assertEquals(LastTickTable.UNCHANGED, table.observe(wrapping.get(3), 103, 3, 2));
+        assertEquals(LastTickTable.UNCHANGED, table.observe(homeZero, 200, 0, 2));
+
+        table.remove(wrapping.get(0));
+        assertEquals(200.0, table.price(homeZero));
+        assertEquals(LastTickTable.FIRST, table.observe(wrapping.get(1), 300, 0, 3));
+        assertEquals(4, table.size());
+    }
+
+    @Test
+    void matchesReferenceMapUnderRandomObservesAndRemoves() {
+        Random random = new Random(11);
+        LastTickTable table = new LastTickTable();
+        Map<Integer, Double> expected = new HashMap<>();
+
+        for (int step = 0; step < 20000; step++) {
+            int symbolId = random.nextInt(500);
+            if (random.nextInt(3) == 0) {
+                expected.remove(symbolId);
+                table.remove(symbolId);
+            } else {
+                double price = random.nextInt(1000);
+                int result = table.observe(symbolId, price, 0, step + 1);
+                Double previous = expected.put(symbolId, price);
+                if (previous == null) {
+                    assertEquals(LastTickTable.FIRST, result);
+                } else {
+                    assertEquals(previous == price ? LastTickTable.UNCHANGED : LastTickTable.PRICE, result);
+                }
+            }
+        }
+
+        assertEquals(expected.size(), table.size());
+        for (int symbolId = 0; symbolId < 500; symbolId++) {
+            Double price = expected.get(symbolId);
+            if (price == null) {
+                assertTrue(Double.isNaN(table.price(symbolId)), "symbol " + symbolId);
+            } else {
+                assertEquals(price.doubleValue(), table.price(symbolId));
+            }
+        }
+    }
+
+    /**
+     * 초기 칸 수에서 원래 자리가 home인 종목 번호 (LastTickTable.slotOf와 같은 해시)
+     */
+    private static List<Integer> symbolsWithHome(int home, int count) {
+        List<Integer> symbols = new ArrayList<>();
+        for (int symbolId = 1; symbols.size() < count; symbolId++) {
+            int h = symbolId * 0x9E3779B9;
+            if (((h ^ (h >>> 16)) & (CAPACITY - 1)) == home) {
+                symbols.add(symbolId);
+            }
+        }
+        return symbols;
+    }
+}
@@ -0,0 +1,173 @@
+package com.example.Tbot.service;
+
+import com.example.Tbot.service.MarketCalendar.Session;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MarketCalendarTest {
+
+    private static final long HOUR_MS = 3_600_000;
+
+    // 2026-10-08(목) 평일, 10-09(금) 한글날 휴장, 10-10~11 주말, 10-12(월) 다음 거래일
+    private static final LocalDate THURSDAY = LocalDate.of(2026, 10, 8);
+    private static final LocalDate HOLIDAY = LocalDate.of(2026, 10, 9);
+    private static final LocalDate SATURDAY = LocalDate.of(2026, 10, 10);
+    private static final LocalDate MONDAY = LocalDate.of(2026, 10, 12);
+
+    @Test
+    void sessionBoundaries() throws IOException {
+        MarketCalendar calendar = calendar(new MutableClock(at(THURSDAY, 12, 0, 0)));
+
+        assertEquals(Session.CLOSED, calendar.sessionAt(at(THURSDAY, 8, 29, 59)));
+        assertEquals(Session.PRE_OPEN, calendar.sessionAt(at(THURSDAY, 8, 30, 0)));
+        assertEquals(Session.PRE_OPEN, calendar.sessionAt(at(THURSDAY, 8, 59, 59)));
+        assertEquals(Session.REGULAR, calendar.sessionAt(at(THURSDAY, 9, 0, 0)));
+        assertEquals(Session.REGULAR, calendar.sessionAt(at(THURSDAY, 15, 29, 59)));
+        assertEquals(Session.AFTER_HOURS, calendar.sessionAt(at(THURSDAY, 15, 30, 0)));
+        assertEquals(Session.AFTER_HOURS, calendar.sessionAt(at(THURSDAY, 17, 59, 59)));
+        assertEquals(Session.CLOSED, calendar.sessionAt(at(THURSDAY, 18, 0, 0)));
+
+        // 다른 시간대로 받아도 한국 시간으로 판단 (00:00 UTC = 09:00 KST)
+        assertEquals(Session.REGULAR, calendar.sessionAt(THURSDAY.atStartOfDay(ZoneOffset.UTC)));
+    }
+
+    @Test
+    void weekendsAndHolidaysAreClosed() throws IOException {
+        MarketCalendar calendar = calendar(new MutableClock(at(HOLIDAY, 10, 0, 0)));
+
+        assertTrue(calendar.isTradingDay(THURSDAY));
+        assertFalse(calendar.isTradingDay(HOLIDAY));
+        assertFalse(calendar.isTradingDay(SATURDAY));
+        assertFalse(calendar.isTradingDay(SATURDAY.plusDays(1)));
+        assertEquals(Session.CLOSED, calendar.currentSession());
+        assertFalse(calendar.isOpen());
+        assertEquals(Session.CLOSED, calendar.sessionAt(at(SATURDAY, 10, 0, 0)));
+    }
+
+    @Test
+    void nextOpenSkipsHolidayBeforeWeekend() throws IOException {
+        MutableClock clock = new MutableClock(at(THURSDAY, 16, 0, 0));
+        MarketCalendar calendar = calendar(clock);
+
+        assertEquals(at(THURSDAY, 8, 30, 0), calendar.nextOpen(at(THURSDAY, 8, 29, 59)));
+        assertEquals(at(MONDAY, 8, 30, 0), calendar.nextOpen(at(THURSDAY, 8, 30, 0)));
+        assertEquals(at(MONDAY, 8, 30, 0), calendar.nextOpen(at(THURSDAY, 18, 0, 0)));
+        assertEquals(at(MONDAY, 8, 30, 0), calendar.nextOpen(at(SATURDAY, 10, 0, 0)));
+
+        clock.set(at(THURSDAY, 18, 0, 0));
+        assertTrue(calendar.describe().contains("10/12(월) 08:30"));
+    }
+
+    @Test
+    void closedMarketIsPolledHourly() throws IOException {
+        MutableClock clock = new MutableClock(at(SATURDAY, 10, 0, 0));
+        MarketCalendar calendar = calendar(clock);
+
+        assertTrue(calendar.shouldPoll("alert"));
+        clock.advance(Duration.ofMinutes(59));
+        assertFalse(calendar.shouldPoll("alert"));
+        // 작업마다 따로 셈
+        assertTrue(calendar.shouldPoll("monitor"));
+        clock.advance(Duration.ofMinutes(1));
+        assertTrue(calendar.shouldPoll("alert"));
+        assertFalse(calendar.shouldPoll("alert"));
+
+        // 장이 열리면 매번, 다시 닫히면 바로 한 번 조회
+        clock.set(at(MONDAY, 9, 0, 0));
+        assertTrue(calendar.shouldPoll("alert"));
+        assertTrue(calendar.shouldPoll("alert"));
+        clock.set(at(MONDAY, 18, 0, 0));
+        assertTrue(calendar.shouldPoll("alert"));
+        clock.advance(Duration.ofMinutes(30));
+        assertFalse(calendar.shouldPoll("alert"));
+    }
+
+    @Test
+    void warnsOnceWhenYearHasNoHolidays() throws IOException {
+        MutableClock clock = new MutableClock(at(THURSDAY, 10, 0, 0));
+        PrintStream original = System.err;
+        ByteArrayOutputStream err = new ByteArrayOutputStream();
+        System.setErr(new PrintStream(err, true, StandardCharsets.UTF_8));
+        try {
+            MarketCalendar calendar = calendar(clock);
+            assertFalse(err.toString(StandardCharsets.UTF_8).contains("휴장일이 목록에 없습니다"));
+
+            // 목록에 없는 해: 평일은 거래일, 경고는 해마다 한 번
+            clock.set(at(LocalDate.of(2027, 1, 4), 10, 0, 0));
+            calendar.shouldPoll("alert");
+            calendar.shouldPoll("alert");
+            assertTrue(calendar.isTradingDay(LocalDate.of(2027, 1, 4)));
+
+            String warnings = err.toString(StandardCharsets.UTF_8);
+            int first = warnings.indexOf("2027년 휴장일이 목록에 없습니다");
+            assertTrue(first >= 0);
+            assertEquals(-1, warnings.indexOf("2027년 휴장일이 목록에 없습니다", first + 1));
+        } finally {
+            System.setErr(original);
+        }
+    }
+
+    private static MarketCalendar calendar(Clock clock) throws IOException {
+        Path holidays = Files.createTempFile("krx-holidays", ".txt");
+        holidays.toFile().deleteOnExit();
+        Files.writeString(holidays, "# 테스트용\n2026-01-01\n" + HOLIDAY + "\n");
+        return new MarketCalendar(holidays.toString(), HOUR_MS, clock);
+    }
+
+    private static ZonedDateTime at(LocalDate date, int hour, int minute, int second) {
+        return LocalDateTime.of(date.getYear(), date.getMonth(), date.getDayOfMonth(), hour, minute, second)
+                .atZone(MarketCalendar.KST);
+    }
+
+    /**
+     * 테스트에서 시각을 옮길 수 있는 시계
+     */
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        MutableClock(ZonedDateTime start) {
+            this.now = start.toInstant();
+        }
+
+        void set(ZonedDateTime time) {
+            now = time.toInstant();
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return MarketCalendar.KST;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.example.Tbot.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Timeout(10)
+class QuoteTickBusTest {
+
+    @Test
+    void keepingUpSubscriberReceivesEveryTickAcrossWraparound() throws InterruptedException {
+        QuoteTickBus bus = new QuoteTickBus(16);
+        BlockingQueue<Quote> received = new LinkedBlockingQueue<>();
+        bus.subscribe("fast", received::addAll);
+
+        try {
+            // 16칸 링을 여러 바퀴 돌되, 한 번에 링보다 적게 올리고 다 받을 때까지 기다림
+            int total = 0;
+            for (int round = 0; round < 50; round++) {
+                bus.publish(ticks(total, 10));
+                for (int i = 0; i < 10; i++, total++) {
+                    Quote quote = received.poll(5, TimeUnit.SECONDS);
+                    assertNotNull(quote);
+                    assertEquals(total, quote.getTimestamp());
+                }
+            }
+            assertEquals("fast 밀림 0, 건너뜀 0", bus.describe());
+        } finally {
+            bus.shutdown();
+        }
+    }
+
+    @Test
+    void slowSubscriberSkipsOverwrittenTicks() throws InterruptedException {
+        QuoteTickBus bus = new QuoteTickBus(16);
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        BlockingQueue<List<Quote>> batches = new LinkedBlockingQueue<>();
+
+        bus.subscribe("slow", batch -> {
+            batches.add(batch);
+            entered.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        try {
+            // 첫 틱을 처리하는 동안 묶어 둔 채 100개 더 발행 (16칸 링을 여섯 바퀴 넘게 돎)
+            bus.publish(ticks(0, 1));
+            assertTrue(entered.await(5, TimeUnit.SECONDS));
+            bus.publish(ticks(1, 100));
+            assertTrue(bus.describe().startsWith("slow 밀림 100"));
+            release.countDown();
+
+            assertEquals(List.of(0L), timestamps(batches.poll(5, TimeUnit.SECONDS)));
+
+            // 남아 있는 가장 최근 16개만 받고, 덮어써진 84개는 건너뜀
+            List<Long> expected = new ArrayList<>();
+            for (long t = 85; t <= 100; t++) expected.add(t);
+            assertEquals(expected, timestamps(batches.poll(5, TimeUnit.SECONDS)));
+            assertEquals("slow 밀림 0, 건너뜀 84", bus.describe());
+        } finally {
+            bus.shutdown();
+        }
+    }
+
+    @Test
+    void ringRoundsCapacityUpToPowerOfTwo() throws InterruptedException {
+        // 17 -> 32칸: 첫 틱 뒤에 100개를 밀어 넣으면 최근 32개만 남음
+        QuoteTickBus bus = new QuoteTickBus(17);
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        BlockingQueue<List<Quote>> batches = new LinkedBlockingQueue<>();
+
+        bus.subscribe("slow", batch -> {
+            batches.add(batch);
+            entered.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        try {
+            bus.publish(ticks(0, 1));
+            assertTrue(entered.await(5, TimeUnit.SECONDS));
+            bus.publish(ticks(1, 100));
+            release.countDown();
+
+            assertEquals(List.of(0L), timestamps(batches.poll(5, TimeUnit.SECONDS)));
+            assertEquals(32, timestamps(batches.poll(5, TimeUnit.SECONDS)).size());
+            assertEquals("slow 밀림 0, 건너뜀 68", bus.describe());
+        } finally {
+            bus.shutdown();
+        }
+    }
+
+    @Test
+    void subscriberSurvivesErrorFromHandler() throws InterruptedException {
+        QuoteTickBus bus = new QuoteTickBus(16);
+        BlockingQueue<Quote> received = new LinkedBlockingQueue<>();
+        CountDownLatch failed = new CountDownLatch(1);
+        bus.subscribe("flaky", batch -> {
+            if (batch.get(0).getTimestamp() == 0) {
+                failed.countDown();
+                throw new AssertionError("처리기 오류");
+            }
+            received.addAll(batch);
+        });
+
+        try {
+            bus.publish(ticks(0, 1));
+            // 오류를 던진 뒤에도 같은 스레드가 다음 틱을 받음
+            assertTrue(failed.await(5, TimeUnit.SECONDS));
+            bus.publish(ticks(1, 1));
+            Quote quote = received.poll(5, TimeUnit.SECONDS);
+            assertNotNull(quote);
+            assertEquals(1L, quote.getTimestamp());
+        } finally {
+            bus.shutdown();
+        }
+    }
+
+    private static List<Quote> ticks(int from, int count) {
+        List<Quote> ticks = new ArrayList<>(count);
+        for (int i = from; i < from + count; i++) {
+            ticks.add(new Quote("005930", "삼성전자", 70000 + i, 0, 0, 0, i));
+        }
+        return ticks;
+    }
+
+    private static List<Long> timestamps(List<Quote> batch) {
+        assertNotNull(batch);
+        List<Long> timestamps = new ArrayList<>(batch.size());
+        for (Quote quote : batch) timestamps.add(quote.getTimestamp());
+        return timestamps;
+    }
+}
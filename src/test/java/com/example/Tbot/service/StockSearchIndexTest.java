@@ -0,0 +1,75 @@
+package com.example.Tbot.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StockSearchIndexTest {
+
+    private static final long BUDGET = TimeUnit.SECONDS.toNanos(1);
+
+    private final StockSearchIndex index = StockSearchIndex.build(new SymbolTable.Builder()
+            .add("005930", "삼성전자", "KOSPI", "전기전자", "삼전", true)
+            .add("005935", "삼성전자우", "KOSPI", "전기전자", "", false)
+            .add("006400", "삼성SDI", "KOSPI", "전기전자", "", true)
+            .add("000660", "SK하이닉스", "KOSPI", "전기전자", "하이닉스,SK hynix", true)
+            .add("005380", "현대차", "KOSPI", "운수장비", "현대자동차", true)
+            .build());
+
+    @Test
+    void exactNameBeatsLongerPrefixMatch() {
+        assertEquals("005930", index.find("삼성전자").code);
+        assertEquals("005935", index.find("삼성전자우").code);
+
+        List<StockService.StockInfo> results = index.search("삼성전자", 10);
+        assertEquals(List.of("005930", "005935"), codes(results));
+    }
+
+    @Test
+    void prefixMatchesRankAboveSubstringAndShorterKeysFirst() {
+        // "현대"는 현대차(접두, 3글자)와 현대자동차(별칭, 접두, 5글자) - 같은 종목은 한 번만
+        assertEquals(List.of("005380"), codes(index.search("현대", 10)));
+
+        // 삼성전자(4글자) -> 삼성전자우/삼성SDI(5글자)
+        List<StockService.StockInfo> samsung = index.search("삼성", 10);
+        assertEquals(3, samsung.size());
+        assertEquals("005930", samsung.get(0).code);
+
+        // 접두 일치(하이닉스 별칭)가 부분 일치(sk하이닉스)보다 먼저, 종목은 하나
+        assertEquals(List.of("000660"), codes(index.search("하이닉스", 10)));
+
+        // "전자"는 부분 일치만 - 짧은 키가 먼저
+        assertEquals(List.of("005930", "005935"), codes(index.search("전자", 10)));
+    }
+
+    @Test
+    void findsByAliasCodeChoseongAndRomanization() {
+        assertEquals("005930", index.find("삼전").code);
+        assertEquals("000660", index.find("sk hynix").code);
+        assertEquals("006400", index.find("006400").code);
+        assertEquals("005930", index.find("ㅅㅅㅈㅈ").code);
+        assertEquals("005380", index.find("hyeondaecha").code);
+    }
+
+    @Test
+    void findsNameEmbeddedInLongerInput() {
+        assertEquals("005930", index.find("삼성전자 주가").code);
+        assertNull(index.find("없는종목"));
+    }
+
+    @Test
+    void suggestCorrectsTyposButNotShortQueries() {
+        assertEquals(List.of("005930"), codes(index.suggest("삼성즌자", 1, BUDGET)));
+        assertEquals(List.of("005380"), codes(index.suggest("현대츠", 1, BUDGET)));
+        assertTrue(index.suggest("삼섬", 1, BUDGET).isEmpty());
+    }
+
+    private static List<String> codes(List<StockService.StockInfo> infos) {
+        return infos.stream().map(info -> info.code).toList();
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.Tbot.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SymbolBkTreeTest {
+
+    @Test
+    void distanceCountsInsertDeleteAndSubstitute() {
+        assertEquals(0, SymbolBkTree.distance("삼성전자", "삼성전자"));
+        assertEquals(1, SymbolBkTree.distance("삼성전자", "삼성즌자"));
+        assertEquals(1, SymbolBkTree.distance("삼성전자", "삼성전자우"));
+        assertEquals(3, SymbolBkTree.distance("kitten", "sitting"));
+        assertEquals(5, SymbolBkTree.distance("", "네이버증권"));
+    }
+
+    @Test
+    void duplicateKeysAreStoredOnce() {
+        String[] keys = {"카카오", "카카오", "카카오뱅크"};
+        SymbolBkTree tree = new SymbolBkTree(keys, new int[]{0, 1, 2});
+
+        assertEquals(2, tree.size());
+        List<SymbolBkTree.Match> matches = tree.search("카카오", 0, Integer.MAX_VALUE, Long.MAX_VALUE);
+        assertEquals(1, matches.size());
+        assertEquals(0, matches.get(0).keyId);  // 먼저 넣은 키 우선
+    }
+
+    @Test
+    void searchFindsExactlyTheKeysWithinDistance() {
+        // 삼각 부등식으로 가지를 쳐도 전수 비교와 결과가 같아야 함
+        Random random = new Random(42);
+        String[] keys = new String[400];
+        int[] ids = new int[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = randomWord(random);
+            ids[i] = i;
+        }
+        SymbolBkTree tree = new SymbolBkTree(keys, ids);
+
+        for (int round = 0; round < 200; round++) {
+            String query = randomWord(random);
+            for (int maxDistance = 1; maxDistance <= 2; maxDistance++) {
+                Set<String> expected = new TreeSet<>();
+                for (String key : keys) {
+                    if (SymbolBkTree.distance(query, key) <= maxDistance) {
+                        expected.add(key);
+                    }
+                }
+
+                Set<String> actual = new TreeSet<>();
+                for (SymbolBkTree.Match match : tree.search(query, maxDistance, Integer.MAX_VALUE, Long.MAX_VALUE)) {
+                    assertEquals(SymbolBkTree.distance(query, keys[match.keyId]), match.distance);
+                    actual.add(keys[match.keyId]);
+                }
+                assertEquals(expected, actual, "query=" + query + ", maxDistance=" + maxDistance);
+            }
+        }
+    }
+
+    @Test
+    void searchStopsAtVisitLimit() {
+        String[] keys = {"aaaa", "aaab", "aabb", "abbb", "bbbb"};
+        SymbolBkTree tree = new SymbolBkTree(keys, new int[]{0, 1, 2, 3, 4});
+
+        List<SymbolBkTree.Match> matches = tree.search("aaaa", 4, 1, Long.MAX_VALUE);
+        assertEquals(1, matches.size());
+        assertEquals(0, matches.get(0).keyId);
+    }
+
+    private static String randomWord(Random random) {
+        // 글자 종류를 줄여 거리 1~2인 키가 충분히 생기게 함
+        char[] alphabet = {'a', 'b', 'c', '가', '나'};
+        int length = 2 + random.nextInt(5);
+        List<Character> chars = new ArrayList<>();
+        for (int i = 0; i < length; i++) {
+            chars.add(alphabet[random.nextInt(alphabet.length)]);
+        }
+        StringBuilder sb = new StringBuilder();
+        chars.forEach(sb::append);
+        return sb.toString();
+    }
+}
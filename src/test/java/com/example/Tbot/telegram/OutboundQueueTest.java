@@ -0,0 +1,196 @@
+package com.example.Tbot.telegram;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.telegram.telegrambots.meta.api.methods.BotApiMethod;
+import org.telegram.telegrambots.meta.api.methods.send.SendMessage;
+import org.telegram.telegrambots.meta.api.objects.ResponseParameters;
+import org.telegram.telegrambots.meta.exceptions.TelegramApiException;
+import org.telegram.telegrambots.meta.exceptions.TelegramApiRequestException;
+
+import java.io.Serializable;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Timeout(20)
+class OutboundQueueTest {
+
+    // 429/백오프 대기 판정 여유 (sleep 정밀도)
+    private static final long SLACK_MS = 50;
+
+    @Test
+    void rateLimitWaitsRetryAfterAndPausesOtherChats() throws Exception {
+        BotApiMethod<?> limited = message();
+        BotApiMethod<?> other = message();
+        ScriptedSender sender = new ScriptedSender();
+        sender.failNext(limited, rateLimited(1));
+
+        // 전송 스레드 하나: 429 처리(전체 멈춤)가 끝난 뒤에 다른 채팅을 꺼냄
+        OutboundQueue queue = new OutboundQueue(sender, 1, 100, 0, 3, 100);
+        queue.start();
+        try {
+            CompletableFuture<?> first = queue.enqueue(1L, cast(limited));
+            assertTrue(sender.firstAttempt.await(5, TimeUnit.SECONDS));
+            CompletableFuture<?> second = queue.enqueue(2L, cast(other));
+
+            first.get(5, TimeUnit.SECONDS);
+            second.get(5, TimeUnit.SECONDS);
+
+            long rateLimitedAt = sender.attemptsOf(limited).get(0);
+            assertEquals(2, sender.attemptsOf(limited).size());
+            assertTrue(sender.attemptsOf(limited).get(1) - rateLimitedAt >= 1000 - SLACK_MS);
+            // 다른 채팅도 retry_after가 지나기 전에는 보내지 않음
+            assertTrue(sender.attemptsOf(other).get(0) - rateLimitedAt >= 1000 - SLACK_MS);
+            assertTrue(queue.getStats().contains("재시도: 1 (429: 1)"));
+        } finally {
+            queue.stop();
+        }
+    }
+
+    @Test
+    void transientFailureRetriesWithBackoffAndKeepsChatOrder() throws Exception {
+        BotApiMethod<?> head = message();
+        BotApiMethod<?> next = message();
+        ScriptedSender sender = new ScriptedSender();
+        sender.failNext(head, new TelegramApiException("timeout"));
+
+        OutboundQueue queue = new OutboundQueue(sender, 1, 100, 0, 3, 100);
+        queue.start();
+        try {
+            CompletableFuture<?> first = queue.enqueue(1L, cast(head));
+            CompletableFuture<?> second = queue.enqueue(1L, cast(next));
+            first.get(5, TimeUnit.SECONDS);
+            second.get(5, TimeUnit.SECONDS);
+
+            List<Long> headAttempts = sender.attemptsOf(head);
+            assertEquals(2, headAttempts.size());
+            assertTrue(headAttempts.get(1) - headAttempts.get(0) >= 1000 - SLACK_MS);
+            // 재시도하는 메시지가 같은 채팅의 다음 메시지보다 먼저
+            assertTrue(sender.attemptsOf(next).get(0) >= headAttempts.get(1));
+        } finally {
+            queue.stop();
+        }
+    }
+
+    @Test
+    void clientErrorFailsWithoutRetry() throws Exception {
+        BotApiMethod<?> method = message();
+        TelegramApiRequestException badRequest = requestError(400, null);
+        ScriptedSender sender = new ScriptedSender();
+        sender.failNext(method, badRequest);
+
+        OutboundQueue queue = new OutboundQueue(sender, 1, 100, 0, 3, 100);
+        queue.start();
+        try {
+            CompletableFuture<?> result = queue.enqueue(1L, cast(method));
+            ExecutionException e = assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+            assertSame(badRequest, e.getCause());
+            assertEquals(1, sender.attemptsOf(method).size());
+        } finally {
+            queue.stop();
+        }
+    }
+
+    @Test
+    void givesUpAfterMaxAttempts() throws Exception {
+        BotApiMethod<?> method = message();
+        ScriptedSender sender = new ScriptedSender();
+        sender.failNext(method, new TelegramApiException("timeout 1"));
+        sender.failNext(method, new TelegramApiException("timeout 2"));
+        sender.failNext(method, new TelegramApiException("timeout 3"));
+
+        OutboundQueue queue = new OutboundQueue(sender, 1, 100, 0, 2, 100);
+        queue.start();
+        try {
+            CompletableFuture<?> result = queue.enqueue(1L, cast(method));
+            ExecutionException e = assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+            assertEquals("timeout 2", e.getCause().getMessage());
+            assertEquals(2, sender.attemptsOf(method).size());
+        } finally {
+            queue.stop();
+        }
+    }
+
+    @Test
+    void rejectsWhenQueueIsFull() {
+        OutboundQueue queue = new OutboundQueue(new ScriptedSender(), 1, 100, 0, 3, 1);
+        // 시작하지 않았으니 첫 건은 큐에 남아 있음
+        queue.enqueue(1L, cast(message()));
+        CompletableFuture<?> rejected = queue.enqueue(2L, cast(message()));
+
+        assertTrue(rejected.isCompletedExceptionally());
+        assertEquals(1, queue.depth());
+    }
+
+    /**
+     * 요청마다 정해 둔 예외를 차례로 던지고, 다 쓰면 성공 (시도 시각 기록)
+     */
+    private static final class ScriptedSender implements OutboundQueue.Sender {
+        private final Map<BotApiMethod<?>, List<Long>> attempts = new IdentityHashMap<>();
+        private final Map<BotApiMethod<?>, Queue<TelegramApiException>> failures = new IdentityHashMap<>();
+        final CountDownLatch firstAttempt = new CountDownLatch(1);
+
+        synchronized void failNext(BotApiMethod<?> method, TelegramApiException failure) {
+            failures.computeIfAbsent(method, m -> new ArrayDeque<>()).add(failure);
+        }
+
+        synchronized List<Long> attemptsOf(BotApiMethod<?> method) {
+            return new ArrayList<>(attempts.getOrDefault(method, List.of()));
+        }
+
+        @Override
+        public <T extends Serializable> T send(BotApiMethod<T> method) throws TelegramApiException {
+            TelegramApiException failure;
+            synchronized (this) {
+                attempts.computeIfAbsent(method, m -> new ArrayList<>()).add(System.currentTimeMillis());
+                Queue<TelegramApiException> scripted = failures.get(method);
+                failure = scripted != null ? scripted.poll() : null;
+            }
+            firstAttempt.countDown();
+            if (failure != null) throw failure;
+            return null;
+        }
+    }
+
+    private static BotApiMethod<?> message() {
+        return SendMessage.builder().chatId("1").text("x").build();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T extends Serializable> BotApiMethod<T> cast(BotApiMethod<?> method) {
+        return (BotApiMethod<T>) method;
+    }
+
+    private static TelegramApiRequestException rateLimited(int retryAfter) {
+        ResponseParameters parameters = new ResponseParameters();
+        parameters.setRetryAfter(retryAfter);
+        return requestError(429, parameters);
+    }
+
+    private static TelegramApiRequestException requestError(int code, ResponseParameters parameters) {
+        return new TelegramApiRequestException("Error " + code) {
+            @Override
+            public Integer getErrorCode() {
+                return code;
+            }
+
+            @Override
+            public ResponseParameters getParameters() {
+                return parameters;
+            }
+        };
+    }
+}